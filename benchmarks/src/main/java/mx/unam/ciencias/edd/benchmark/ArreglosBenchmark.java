@@ -0,0 +1,124 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para los algoritmos de {@link Arreglos}, y para {@link
+ * Lista#mergeSort(Lista)} como punto de comparación.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArreglosBenchmark {
+
+    /* Número de búsquedas precalculadas; debe ser potencia de 2. */
+    private static final int BUSQUEDAS = 1024;
+
+    /** El número de elementos. */
+    @Param({ "1000", "10000" }) public int n;
+    /** La distribución de las llaves. */
+    @Param public Distribucion distribucion;
+
+    /* El arreglo original, que nunca se modifica. */
+    private Integer[] original;
+    /* El arreglo ordenado, para las búsquedas. */
+    private Integer[] ordenado;
+    /* Las llaves a buscar. */
+    private Integer[] busquedas;
+    /* Una lista con los elementos del arreglo original. */
+    private Lista<Integer> lista;
+    /* Índice de la siguiente búsqueda. */
+    private int busqueda;
+
+    /**
+     * Genera los arreglos y la lista.
+     */
+    @Setup public void prepara() {
+        original = distribucion.generaEnvueltos(n);
+        ordenado = original.clone();
+        Arreglos.quickSort(ordenado);
+        busquedas = new Integer[BUSQUEDAS];
+        for (int i = 0; i < BUSQUEDAS; i++)
+            busquedas[i] = original[(int)((i * 0x9E3779B1L) % n)];
+        lista = new Lista<Integer>();
+        for (Integer e : original)
+            lista.agrega(e);
+    }
+
+    /**
+     * Mide QuickSort sobre una copia del arreglo original. La copia es parte
+     * de la medición.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] quickSort() {
+        Integer[] a = original.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    /**
+     * Mide QuickSort con partición en tres vías sobre una copia del arreglo
+     * original. La copia es parte de la medición.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] quickSortTresVias() {
+        Integer[] a = original.clone();
+        Arreglos.quickSortTresVias(a);
+        return a;
+    }
+
+    /**
+     * Mide el MergeSort adaptativo sobre una copia del arreglo original. La
+     * copia es parte de la medición.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] mergeSort() {
+        Integer[] a = original.clone();
+        Arreglos.mergeSort(a);
+        return a;
+    }
+
+    /**
+     * Mide SelectionSort sobre una copia del arreglo original. La copia es
+     * parte de la medición.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] selectionSort() {
+        Integer[] a = original.clone();
+        Arreglos.selectionSort(a);
+        return a;
+    }
+
+    /**
+     * Mide una búsqueda binaria en el arreglo ordenado.
+     * @return el índice encontrado.
+     */
+    @Benchmark public int busquedaBinaria() {
+        return Arreglos.busquedaBinaria(ordenado,
+                                        busquedas[busqueda++ & (BUSQUEDAS - 1)]);
+    }
+
+    /**
+     * Mide MergeSort sobre la lista con los elementos del arreglo original.
+     * @return la lista ordenada.
+     */
+    @Benchmark public Lista<Integer> mergeSortLista() {
+        return Lista.mergeSort(lista);
+    }
+}
@@ -0,0 +1,144 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para comparar los algoritmos de {@link Arreglos} sobre arreglos
+ * de primitivos con los mismos algoritmos sobre arreglos de {@link Integer}.
+ * Cada ordenamiento trabaja sobre una copia del arreglo original, y la copia
+ * es parte de la medición.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class ArreglosPrimitivosBenchmark {
+
+    /* Número de búsquedas por operación. */
+    private static final int BUSQUEDAS = 1 << 20;
+
+    /** El número de elementos. */
+    @Param({ "1000000", "10000000", "100000000" }) public int n;
+
+    /* El arreglo original de enteros. */
+    private int[] enteros;
+    /* El arreglo original de enteros largos. */
+    private long[] largos;
+    /* El arreglo original de dobles. */
+    private double[] dobles;
+    /* El arreglo original de enteros envueltos. */
+    private Integer[] envueltos;
+    /* El arreglo de enteros ordenado, para las búsquedas. */
+    private int[] ordenado;
+    /* El arreglo de enteros envueltos ordenado, para las búsquedas. */
+    private Integer[] ordenadoEnvuelto;
+
+    /**
+     * Genera los arreglos.
+     */
+    @Setup public void prepara() {
+        enteros = Distribucion.ALEATORIA.genera(n);
+        largos = new long[n];
+        dobles = new double[n];
+        envueltos = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            largos[i] = enteros[i];
+            dobles[i] = enteros[i];
+            envueltos[i] = enteros[i];
+        }
+        ordenado = enteros.clone();
+        Arreglos.quickSort(ordenado);
+        ordenadoEnvuelto = new Integer[n];
+        for (int i = 0; i < n; i++)
+            ordenadoEnvuelto[i] = ordenado[i];
+    }
+
+    /**
+     * Mide QuickSort sobre el arreglo de enteros envueltos.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] quickSortEnvuelto() {
+        Integer[] a = envueltos.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    /**
+     * Mide QuickSort sobre el arreglo de enteros.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public int[] quickSortEnteros() {
+        int[] a = enteros.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    /**
+     * Mide QuickSort sobre el arreglo de enteros largos.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public long[] quickSortLargos() {
+        long[] a = largos.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    /**
+     * Mide QuickSort sobre el arreglo de dobles.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public double[] quickSortDobles() {
+        double[] a = dobles.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    /**
+     * Mide MergeSort sobre el arreglo de enteros.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public int[] mergeSortEnteros() {
+        int[] a = enteros.clone();
+        Arreglos.mergeSort(a);
+        return a;
+    }
+
+    /**
+     * Mide {@link #BUSQUEDAS} búsquedas binarias en el arreglo de enteros
+     * envueltos ordenado.
+     * @return la suma de los índices encontrados.
+     */
+    @Benchmark public long busquedaBinariaEnvuelta() {
+        long s = 0;
+        for (int i = 0; i < BUSQUEDAS; i++)
+            s += Arreglos.busquedaBinaria(ordenadoEnvuelto,
+                                          envueltos[i % n]);
+        return s;
+    }
+
+    /**
+     * Mide {@link #BUSQUEDAS} búsquedas binarias en el arreglo de enteros
+     * ordenado.
+     * @return la suma de los índices encontrados.
+     */
+    @Benchmark public long busquedaBinariaEnteros() {
+        long s = 0;
+        for (int i = 0; i < BUSQUEDAS; i++)
+            s += Arreglos.busquedaBinaria(ordenado, enteros[i % n]);
+        return s;
+    }
+}
@@ -0,0 +1,32 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de los benchmarks. Acepta las mismas opciones que
+ * <code>org.openjdk.jmh.Main</code>, pero siempre agrega el perfilador de
+ * recolección de basura para reportar la tasa de asignación de memoria.
+ */
+public class Benchmarks {
+
+    /* Constructor privado para evitar instanciación. */
+    private Benchmarks() {}
+
+    /**
+     * Corre los benchmarks.
+     * @param args las opciones de línea de comandos de JMH.
+     * @throws Exception si JMH no puede correr los benchmarks.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linea = new CommandLineOptions(args);
+        Options opciones = new OptionsBuilder()
+            .parent(linea)
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,90 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para comparar una {@link Cola} protegida por un candado global
+ * con {@link ColaConcurrente}, con productores y consumidores al mismo tiempo.
+ * Los consumidores no bloquean: si la cola está vacía regresan
+ * <code>null</code> y lo vuelven a intentar. El número de hebras de cada grupo
+ * se cambia con la opción <code>-tg</code> de JMH, por ejemplo
+ * <code>-tg 1,1</code>, <code>-tg 4,4</code> o <code>-tg 16,16</code>.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Group)
+public class ColaConcurrenteBenchmark {
+
+    /* El elemento que meten los productores. */
+    private static final Integer ELEMENTO = 1;
+
+    /* La cola protegida por el candado global. */
+    private Cola<Integer> global;
+    /* La cola concurrente. */
+    private ColaConcurrente<Integer> concurrente;
+
+    /**
+     * Crea colas vacías en cada iteración, para que los elementos que los
+     * consumidores no alcanzaron a sacar no se acumulen.
+     */
+    @Setup(Level.Iteration) public void prepara() {
+        global = new Cola<Integer>();
+        concurrente = new ColaConcurrente<Integer>();
+    }
+
+    /**
+     * Mide meter un elemento en la cola con candado global.
+     */
+    @Benchmark @Group("global") @GroupThreads(1)
+    public void meteGlobal() {
+        synchronized (global) {
+            global.mete(ELEMENTO);
+        }
+    }
+
+    /**
+     * Mide intentar sacar un elemento de la cola con candado global.
+     * @return el elemento sacado, o <code>null</code>.
+     */
+    @Benchmark @Group("global") @GroupThreads(1)
+    public Integer sacaGlobal() {
+        synchronized (global) {
+            return global.esVacia() ? null : global.saca();
+        }
+    }
+
+    /**
+     * Mide meter un elemento en la cola concurrente.
+     */
+    @Benchmark @Group("concurrente") @GroupThreads(1)
+    public void meteConcurrente() {
+        concurrente.mete(ELEMENTO);
+    }
+
+    /**
+     * Mide intentar sacar un elemento de la cola concurrente.
+     * @return el elemento sacado, o <code>null</code>.
+     */
+    @Benchmark @Group("concurrente") @GroupThreads(1)
+    public Integer sacaConcurrente() {
+        return concurrente.intentaSacar();
+    }
+}
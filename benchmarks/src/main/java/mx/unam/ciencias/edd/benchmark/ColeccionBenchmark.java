@@ -0,0 +1,136 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolBinarioCompleto;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.Coleccion;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks para las implementaciones de {@link Coleccion}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+/* Los árboles binarios ordenados degeneran en listas con entradas ordenadas,
+ * y varios de sus métodos son recursivos. */
+@Fork(value = 1, jvmArgsAppend = "-Xss512m")
+@State(Scope.Benchmark)
+public class ColeccionBenchmark {
+
+    /** Enumeración para las implementaciones de colección a medir. */
+    public enum Tipo {
+        /** {@link Lista}. */
+        LISTA,
+        /** {@link Lista} indexada. */
+        LISTA_INDEXADA,
+        /** {@link ArbolBinarioOrdenado}. */
+        ORDENADO,
+        /** {@link ArbolRojinegro}. */
+        ROJINEGRO,
+        /** {@link ArbolBinarioCompleto}. */
+        COMPLETO;
+
+        /* Regresa una colección vacía del tipo. */
+        private Coleccion<Integer> nueva() {
+            switch (this) {
+            case LISTA:     return new Lista<Integer>();
+            case LISTA_INDEXADA:
+                Lista<Integer> lista = new Lista<Integer>();
+                lista.indexa();
+                return lista;
+            case ORDENADO:  return new ArbolBinarioOrdenado<Integer>();
+            case ROJINEGRO: return new ArbolRojinegro<Integer>();
+            default:        return new ArbolBinarioCompleto<Integer>();
+            }
+        }
+    }
+
+    /* Número de consultas precalculadas; debe ser potencia de 2. */
+    private static final int CONSULTAS = 1024;
+
+    /** La implementación a medir. */
+    @Param public Tipo tipo;
+    /** El número de elementos. */
+    @Param({ "1000", "10000" }) public int n;
+    /** La distribución de las llaves. */
+    @Param public Distribucion distribucion;
+
+    /* Las llaves a agregar. */
+    private Integer[] datos;
+    /* Las llaves a consultar. */
+    private Integer[] consultas;
+    /* Una colección con todas las llaves. */
+    private Coleccion<Integer> llena;
+    /* Índice de la siguiente consulta. */
+    private int consulta;
+
+    /**
+     * Genera las llaves y la colección llena.
+     */
+    @Setup public void prepara() {
+        datos = distribucion.generaEnvueltos(n);
+        consultas = new Integer[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++)
+            consultas[i] = datos[(int)((i * 0x9E3779B1L) % n)];
+        llena = llena();
+    }
+
+    /* Regresa una colección nueva con todas las llaves. */
+    private Coleccion<Integer> llena() {
+        Coleccion<Integer> c = tipo.nueva();
+        for (Integer e : datos)
+            c.agrega(e);
+        return c;
+    }
+
+    /**
+     * Mide agregar todas las llaves a una colección vacía.
+     * @return la colección llena.
+     */
+    @Benchmark public Coleccion<Integer> agrega() {
+        return llena();
+    }
+
+    /**
+     * Mide agregar todas las llaves y después eliminarlas.
+     * @return la colección vacía.
+     */
+    @Benchmark public Coleccion<Integer> agregaYElimina() {
+        Coleccion<Integer> c = llena();
+        for (Integer e : datos)
+            c.elimina(e);
+        return c;
+    }
+
+    /**
+     * Mide buscar una llave contenida en la colección.
+     * @return si la llave está contenida.
+     */
+    @Benchmark public boolean contiene() {
+        return llena.contiene(consultas[consulta++ & (CONSULTAS - 1)]);
+    }
+
+    /**
+     * Mide recorrer la colección con su iterador.
+     * @param hoyo el hoyo negro que consume los elementos.
+     */
+    @Benchmark public void itera(Blackhole hoyo) {
+        for (Integer e : llena)
+            hoyo.consume(e);
+    }
+}
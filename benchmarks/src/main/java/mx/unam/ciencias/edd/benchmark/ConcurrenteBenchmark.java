@@ -0,0 +1,106 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ArbolRojinegroConcurrente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para comparar un {@link ArbolRojinegro} protegido por un candado
+ * global con {@link ArbolRojinegroConcurrente}, con varios lectores y un
+ * escritor al mismo tiempo. Los lectores buscan llaves al azar (la mitad están
+ * en el árbol); el escritor elimina y vuelve a agregar llaves al azar, así que
+ * el árbol conserva su tamaño. El número de hebras de cada grupo se cambia con
+ * la opción <code>-tg</code> de JMH, por ejemplo <code>-tg 63,1</code>.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrenteBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "100000" }) public int n;
+
+    /* El árbol protegido por el candado global. */
+    private ArbolRojinegro<Integer> global;
+    /* El árbol concurrente. */
+    private ArbolRojinegroConcurrente<Integer> concurrente;
+
+    /**
+     * Llena los árboles con las llaves pares menores que 2<em>n</em>.
+     */
+    @Setup public void prepara() {
+        global = new ArbolRojinegro<Integer>();
+        concurrente = new ArbolRojinegroConcurrente<Integer>();
+        for (int i = 0; i < n; i++) {
+            global.agrega(2 * i);
+            concurrente.agrega(2 * i);
+        }
+    }
+
+    /* Regresa una llave par al azar, que está en los árboles. */
+    private static Integer parAlAzar(int n) {
+        return 2 * ThreadLocalRandom.current().nextInt(n);
+    }
+
+    /**
+     * Mide buscar una llave en el árbol con candado global.
+     * @return si la llave está contenida.
+     */
+    @Benchmark @Group("global") @GroupThreads(7)
+    public boolean leeGlobal() {
+        int e = ThreadLocalRandom.current().nextInt(2 * n);
+        synchronized (global) {
+            return global.contiene(e);
+        }
+    }
+
+    /**
+     * Mide eliminar y volver a agregar una llave en el árbol con candado
+     * global.
+     */
+    @Benchmark @Group("global") @GroupThreads(1)
+    public void escribeGlobal() {
+        Integer e = parAlAzar(n);
+        synchronized (global) {
+            global.elimina(e);
+            global.agrega(e);
+        }
+    }
+
+    /**
+     * Mide buscar una llave en el árbol concurrente.
+     * @return si la llave está contenida.
+     */
+    @Benchmark @Group("concurrente") @GroupThreads(7)
+    public boolean leeConcurrente() {
+        return concurrente.contiene(ThreadLocalRandom.current()
+                                    .nextInt(2 * n));
+    }
+
+    /**
+     * Mide eliminar y volver a agregar una llave en el árbol concurrente.
+     */
+    @Benchmark @Group("concurrente") @GroupThreads(1)
+    public void escribeConcurrente() {
+        Integer e = parAlAzar(n);
+        concurrente.elimina(e);
+        concurrente.agrega(e);
+    }
+}
@@ -0,0 +1,76 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para construir un {@link ArbolRojinegro} a partir de una lista
+ * ordenada, agregando los elementos uno por uno, con {@link
+ * ArbolRojinegro#agregaTodos} o con {@link
+ * ArbolRojinegro#balanceado(mx.unam.ciencias.edd.Coleccion)}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ConstruccionBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "10000000" }) public int n;
+
+    /* La lista ordenada. */
+    private Lista<Integer> lista;
+
+    /**
+     * Genera la lista ordenada.
+     */
+    @Setup public void prepara() {
+        lista = new Lista<Integer>();
+        for (int i = 0; i < n; i++)
+            lista.agrega(i);
+    }
+
+    /**
+     * Mide agregar los elementos de la lista uno por uno.
+     * @return el árbol construido.
+     */
+    @Benchmark public ArbolRojinegro<Integer> agregaUnoPorUno() {
+        ArbolRojinegro<Integer> arbol = new ArbolRojinegro<Integer>();
+        for (Integer e : lista)
+            arbol.agrega(e);
+        return arbol;
+    }
+
+    /**
+     * Mide agregar los elementos de la lista con una sola invocación, que
+     * busca cada uno a partir del vértice del anterior.
+     * @return el árbol construido.
+     */
+    @Benchmark public ArbolRojinegro<Integer> agregaTodos() {
+        ArbolRojinegro<Integer> arbol = new ArbolRojinegro<Integer>();
+        arbol.agregaTodos(lista);
+        return arbol;
+    }
+
+    /**
+     * Mide construir el árbol balanceado directamente.
+     * @return el árbol construido.
+     */
+    @Benchmark public ArbolRojinegro<Integer> balanceado() {
+        return ArbolRojinegro.balanceado(lista);
+    }
+}
@@ -0,0 +1,72 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+
+/**
+ * Enumeración para las distribuciones de llaves con las que se alimentan los
+ * benchmarks.
+ */
+public enum Distribucion {
+
+    /** Llaves aleatorias uniformes. */
+    ALEATORIA,
+    /** Llaves ya ordenadas de menor a mayor. */
+    ORDENADA,
+    /** Llaves ordenadas de mayor a menor. */
+    INVERSA,
+    /** Llaves aleatorias con sólo √<em>n</em> valores distintos. */
+    DUPLICADOS,
+    /** Llaves ordenadas de menor a mayor, salvo el 1% que son aleatorias. */
+    CASI_ORDENADA;
+
+    /** Semilla fija para que todas las ejecuciones usen los mismos datos. */
+    public static final long SEMILLA = 0x45444420L;
+
+    /**
+     * Genera un arreglo de enteros con la distribución.
+     * @param n el número de elementos a generar.
+     * @return un arreglo de <code>n</code> enteros con la distribución.
+     */
+    public int[] genera(int n) {
+        Random random = new Random(SEMILLA);
+        int[] a = new int[n];
+        switch (this) {
+        case ALEATORIA:
+            for (int i = 0; i < n; i++)
+                a[i] = random.nextInt();
+            break;
+        case ORDENADA:
+            for (int i = 0; i < n; i++)
+                a[i] = i;
+            break;
+        case INVERSA:
+            for (int i = 0; i < n; i++)
+                a[i] = n - i;
+            break;
+        case DUPLICADOS:
+            int distintos = Math.max(1, (int)Math.sqrt(n));
+            for (int i = 0; i < n; i++)
+                a[i] = random.nextInt(distintos);
+            break;
+        case CASI_ORDENADA:
+            for (int i = 0; i < n; i++)
+                a[i] = random.nextInt(100) == 0 ? random.nextInt(n) : i;
+            break;
+        }
+        return a;
+    }
+
+    /**
+     * Genera un arreglo de enteros envueltos con la distribución.
+     * @param n el número de elementos a generar.
+     * @return un arreglo de <code>n</code> enteros envueltos con la
+     *         distribución.
+     */
+    public Integer[] generaEnvueltos(int n) {
+        int[] a = genera(n);
+        Integer[] r = new Integer[n];
+        for (int i = 0; i < n; i++)
+            r[i] = a[i];
+        return r;
+    }
+}
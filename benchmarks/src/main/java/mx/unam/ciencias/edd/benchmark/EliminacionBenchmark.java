@@ -0,0 +1,102 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.Lista;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para eliminar un porcentaje de los elementos de un {@link
+ * ArbolRojinegro} y de una {@link Lista}: uno por uno con <code>elimina</code>,
+ * o con una sola invocación a <code>eliminaSi</code>. Se eliminan las llaves
+ * cuyo residuo módulo 100 es menor que el porcentaje.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EliminacionBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "1000000" }) public int n;
+
+    /** El porcentaje de los elementos a eliminar. */
+    @Param({ "1", "5", "12", "25", "50" }) public int porcentaje;
+
+    /* Las llaves. */
+    private Integer[] llaves;
+    /* Las llaves a eliminar. */
+    private Lista<Integer> eliminadas;
+    /* El árbol. */
+    private ArbolRojinegro<Integer> arbol;
+    /* La lista. */
+    private Lista<Integer> lista;
+
+    /**
+     * Genera las llaves y escoge las que se eliminan.
+     */
+    @Setup public void prepara() {
+        llaves = Distribucion.ALEATORIA.generaEnvueltos(n);
+        eliminadas = new Lista<Integer>();
+        for (Integer llave : llaves)
+            if (elimina(llave))
+                eliminadas.agrega(llave);
+    }
+
+    /**
+     * Llena el árbol y la lista antes de cada invocación.
+     */
+    @Setup(Level.Invocation) public void llena() {
+        arbol = ArbolRojinegro.balanceado(llaves);
+        lista = new Lista<Integer>();
+        for (Integer llave : llaves)
+            lista.agrega(llave);
+    }
+
+    /* Nos dice si la llave se elimina. */
+    private boolean elimina(Integer llave) {
+        return Math.floorMod(llave, 100) < porcentaje;
+    }
+
+    /**
+     * Mide eliminar las llaves del árbol una por una.
+     * @return el árbol.
+     */
+    @Benchmark public ArbolRojinegro<Integer> arbolUnoPorUno() {
+        for (Integer e : eliminadas)
+            arbol.elimina(e);
+        return arbol;
+    }
+
+    /**
+     * Mide eliminar las llaves del árbol con una sola invocación.
+     * @return el árbol.
+     */
+    @Benchmark public ArbolRojinegro<Integer> arbolEliminaSi() {
+        arbol.eliminaSi(this::elimina);
+        return arbol;
+    }
+
+    /**
+     * Mide eliminar las llaves de la lista con una sola invocación. Eliminarlas
+     * una por una es cuadrático y no se mide.
+     * @return la lista.
+     */
+    @Benchmark public Lista<Integer> listaEliminaSi() {
+        lista.eliminaSi(this::elimina);
+        return lista;
+    }
+}
@@ -0,0 +1,116 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.ListaDesenrollada;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks para comparar {@link Lista} con {@link ListaDesenrollada}. Los
+ * benchmarks <code>construye*</code> crean una lista con <em>n</em> llaves,
+ * así que su métrica <code>gc.alloc.rate.norm</code> es la memoria que cuesta
+ * cada lista (sin contar las llaves, que se envuelven una sola vez). Los demás
+ * recorren una lista ya construida.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ListaDesenrolladaBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "10000", "1000000" }) public int n;
+
+    /* Las llaves a agregar. */
+    private Integer[] llaves;
+    /* Una llave que no está en las listas. */
+    private Integer ausente;
+    /* La lista doblemente ligada con todas las llaves. */
+    private Lista<Integer> lista;
+    /* La lista desenrollada con todas las llaves. */
+    private ListaDesenrollada<Integer> desenrollada;
+
+    /**
+     * Genera las llaves y las listas llenas.
+     */
+    @Setup public void prepara() {
+        llaves = Distribucion.ALEATORIA.generaEnvueltos(n);
+        ausente = n;
+        for (Integer llave : llaves)
+            if (llave.equals(ausente))
+                ausente = ausente + 1;
+        lista = construyeLista();
+        desenrollada = construyeDesenrollada();
+    }
+
+    /**
+     * Mide construir una lista doblemente ligada.
+     * @return la lista construida.
+     */
+    @Benchmark public Lista<Integer> construyeLista() {
+        Lista<Integer> l = new Lista<Integer>();
+        for (Integer llave : llaves)
+            l.agrega(llave);
+        return l;
+    }
+
+    /**
+     * Mide construir una lista desenrollada.
+     * @return la lista construida.
+     */
+    @Benchmark public ListaDesenrollada<Integer> construyeDesenrollada() {
+        ListaDesenrollada<Integer> l = new ListaDesenrollada<Integer>();
+        for (Integer llave : llaves)
+            l.agrega(llave);
+        return l;
+    }
+
+    /**
+     * Mide buscar una llave ausente (recorriendo toda la lista) en la lista
+     * doblemente ligada.
+     * @return si la llave está contenida.
+     */
+    @Benchmark public boolean contieneLista() {
+        return lista.contiene(ausente);
+    }
+
+    /**
+     * Mide buscar una llave ausente (recorriendo toda la lista) en la lista
+     * desenrollada.
+     * @return si la llave está contenida.
+     */
+    @Benchmark public boolean contieneDesenrollada() {
+        return desenrollada.contiene(ausente);
+    }
+
+    /**
+     * Mide recorrer la lista doblemente ligada con su iterador.
+     * @param hoyo el hoyo negro que consume los elementos.
+     */
+    @Benchmark public void iteraLista(Blackhole hoyo) {
+        for (Integer e : lista)
+            hoyo.consume(e);
+    }
+
+    /**
+     * Mide recorrer la lista desenrollada con su iterador.
+     * @param hoyo el hoyo negro que consume los elementos.
+     */
+    @Benchmark public void iteraDesenrollada(Blackhole hoyo) {
+        for (Integer e : desenrollada)
+            hoyo.consume(e);
+    }
+}
@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolBinarioCompleto;
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.MeteSaca;
+import mx.unam.ciencias.edd.Pila;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks para {@link Pila} y {@link Cola}, y para el recorrido BFS de
+ * {@link ArbolBinarioCompleto}, que usa una cola.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MeteSacaBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "1000000" }) public int n;
+
+    /* El árbol completo con n vértices. */
+    private ArbolBinarioCompleto<Integer> arbol;
+
+    /**
+     * Genera el árbol completo.
+     */
+    @Setup public void prepara() {
+        arbol = new ArbolBinarioCompleto<Integer>();
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+    }
+
+    /* Mete n elementos a la estructura y después los saca todos. */
+    private static int meteYSaca(MeteSaca<Integer> estructura, int n) {
+        for (int i = 0; i < n; i++)
+            estructura.mete(i);
+        int s = 0;
+        while (!estructura.esVacia())
+            s += estructura.saca();
+        return s;
+    }
+
+    /**
+     * Mide meter y sacar n elementos de una pila.
+     * @return la suma de los elementos sacados.
+     */
+    @Benchmark public int pila() {
+        return meteYSaca(new Pila<Integer>(), n);
+    }
+
+    /**
+     * Mide meter y sacar n elementos de una cola.
+     * @return la suma de los elementos sacados.
+     */
+    @Benchmark public int cola() {
+        return meteYSaca(new Cola<Integer>(), n);
+    }
+
+    /**
+     * Mide el recorrido BFS del árbol completo.
+     * @param hoyo el hoyo negro que consume los vértices.
+     */
+    @Benchmark public void bfs(Blackhole hoyo) {
+        arbol.bfs(v -> hoyo.consume(v));
+    }
+}
@@ -0,0 +1,93 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para medir cómo escalan {@link
+ * Arreglos#quickSortParalelo(Object[],Comparator,ForkJoinPool)} y {@link
+ * Arreglos#mergeSortParalelo(Object[],Comparator,ForkJoinPool)} con el número
+ * de hebras. Con una hebra sirven también para comparar contra {@link
+ * Arreglos#quickSort(Object[],Comparator)}. Cada ordenamiento trabaja sobre una
+ * copia del arreglo original, y la copia es parte de la medición.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class ParaleloBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "10000000", "50000000" }) public int n;
+    /** El número de hebras de la alberca. */
+    @Param({ "1", "2", "4", "8", "16", "32" }) public int hebras;
+
+    /* El arreglo original. */
+    private Integer[] original;
+    /* El comparador. */
+    private Comparator<Integer> comparador;
+    /* La alberca de hebras. */
+    private ForkJoinPool alberca;
+
+    /**
+     * Genera el arreglo y la alberca de hebras.
+     */
+    @Setup public void prepara() {
+        original = Distribucion.ALEATORIA.generaEnvueltos(n);
+        comparador = (a, b) -> a.compareTo(b);
+        alberca = new ForkJoinPool(hebras);
+    }
+
+    /**
+     * Termina la alberca de hebras.
+     */
+    @TearDown public void termina() {
+        alberca.shutdown();
+    }
+
+    /**
+     * Mide QuickSort secuencial, como punto de comparación.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] quickSort() {
+        Integer[] a = original.clone();
+        Arreglos.quickSort(a, comparador);
+        return a;
+    }
+
+    /**
+     * Mide QuickSort en paralelo.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] quickSortParalelo() {
+        Integer[] a = original.clone();
+        Arreglos.quickSortParalelo(a, comparador, alberca);
+        return a;
+    }
+
+    /**
+     * Mide MergeSort en paralelo.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] mergeSortParalelo() {
+        Integer[] a = original.clone();
+        Arreglos.mergeSortParalelo(a, comparador, alberca);
+        return a;
+    }
+}
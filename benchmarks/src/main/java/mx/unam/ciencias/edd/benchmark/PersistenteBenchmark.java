@@ -0,0 +1,80 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ArbolRojinegroPersistente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para comparar el costo de tomar una instantánea después de cada
+ * actualización: copiando un {@link ArbolRojinegro} o con {@link
+ * ArbolRojinegroPersistente}, donde la instantánea es la versión misma. Cada
+ * actualización elimina una llave y la vuelve a agregar, así que la métrica
+ * <code>gc.alloc.rate.norm</code> es la memoria que cuesta cada
+ * actualización con su instantánea.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PersistenteBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "1000", "100000" }) public int n;
+
+    /* Las llaves. */
+    private Integer[] llaves;
+    /* El árbol mutable. */
+    private ArbolRojinegro<Integer> mutable;
+    /* La versión actual del árbol persistente. */
+    private ArbolRojinegroPersistente<Integer> persistente;
+    /* Índice de la siguiente llave a actualizar. */
+    private int siguiente;
+
+    /**
+     * Genera las llaves y llena los árboles.
+     */
+    @Setup public void prepara() {
+        llaves = Distribucion.ALEATORIA.generaEnvueltos(n);
+        mutable = new ArbolRojinegro<Integer>();
+        persistente = new ArbolRojinegroPersistente<Integer>();
+        for (Integer llave : llaves) {
+            mutable.agrega(llave);
+            persistente = persistente.agrega(llave);
+        }
+    }
+
+    /**
+     * Mide actualizar el árbol mutable y copiarlo como instantánea.
+     * @return la instantánea.
+     */
+    @Benchmark public ArbolRojinegro<Integer> actualizaYCopia() {
+        Integer e = llaves[siguiente++ % n];
+        mutable.elimina(e);
+        mutable.agrega(e);
+        return ArbolRojinegro.balanceado(mutable);
+    }
+
+    /**
+     * Mide crear una nueva versión del árbol persistente, que es su propia
+     * instantánea.
+     * @return la instantánea.
+     */
+    @Benchmark public ArbolRojinegroPersistente<Integer> actualizaPersistente() {
+        Integer e = llaves[siguiente++ % n];
+        persistente = persistente.elimina(e).agrega(e);
+        return persistente;
+    }
+}
@@ -0,0 +1,93 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.IntArbolRojinegro;
+import mx.unam.ciencias.edd.LongArbolRojinegro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para comparar {@link ArbolRojinegro} de {@link Integer} con
+ * {@link IntArbolRojinegro} y {@link LongArbolRojinegro}. Cada operación
+ * construye un árbol con <em>n</em> llaves, así que la métrica
+ * <code>gc.alloc.rate.norm</code> del perfilador de recolección de basura es
+ * la memoria que cuesta cada árbol, incluyendo las llaves envueltas y, en las
+ * versiones primitivas, los arreglos descartados al crecer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PrimitivosBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "1000000" }) public int n;
+
+    /* Las llaves a agregar. */
+    private int[] llaves;
+
+    /**
+     * Genera las llaves.
+     */
+    @Setup public void prepara() {
+        llaves = Distribucion.ALEATORIA.genera(n);
+    }
+
+    /**
+     * Mide agregar las llaves a un árbol rojinegro genérico.
+     * @return el árbol construido.
+     */
+    @Benchmark public ArbolRojinegro<Integer> rojinegro() {
+        ArbolRojinegro<Integer> arbol = new ArbolRojinegro<Integer>();
+        for (int llave : llaves)
+            arbol.agrega(llave);
+        return arbol;
+    }
+
+    /**
+     * Mide agregar las llaves a un árbol rojinegro de enteros primitivos.
+     * @return el árbol construido.
+     */
+    @Benchmark public IntArbolRojinegro intRojinegro() {
+        IntArbolRojinegro arbol = new IntArbolRojinegro();
+        for (int llave : llaves)
+            arbol.agrega(llave);
+        return arbol;
+    }
+
+    /**
+     * Mide agregar las llaves a un árbol rojinegro de enteros primitivos con
+     * la capacidad reservada desde el principio, sin crecer sus arreglos.
+     * @return el árbol construido.
+     */
+    @Benchmark public IntArbolRojinegro intRojinegroConCapacidad() {
+        IntArbolRojinegro arbol = new IntArbolRojinegro(n);
+        for (int llave : llaves)
+            arbol.agrega(llave);
+        return arbol;
+    }
+
+    /**
+     * Mide agregar las llaves a un árbol rojinegro de enteros largos
+     * primitivos.
+     * @return el árbol construido.
+     */
+    @Benchmark public LongArbolRojinegro longRojinegro() {
+        LongArbolRojinegro arbol = new LongArbolRojinegro();
+        for (int llave : llaves)
+            arbol.agrega(llave);
+        return arbol;
+    }
+}
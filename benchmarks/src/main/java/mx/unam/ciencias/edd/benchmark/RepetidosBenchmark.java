@@ -0,0 +1,69 @@
+package mx.unam.ciencias.edd.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks para comparar {@link Arreglos#quickSort(Comparable[])} con {@link
+ * Arreglos#quickSortTresVias(Comparable[])} en arreglos grandes con pocos
+ * valores distintos. Cada ordenamiento trabaja sobre una copia del arreglo
+ * original, y la copia es parte de la medición.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RepetidosBenchmark {
+
+    /** El número de elementos. */
+    @Param({ "10000000" }) public int n;
+    /** El número de valores distintos. */
+    @Param({ "16", "4096" }) public int distintos;
+
+    /* El arreglo original. */
+    private Integer[] original;
+
+    /**
+     * Genera el arreglo con valores aleatorios entre 0 y distintos - 1.
+     */
+    @Setup public void prepara() {
+        Random random = new Random(Distribucion.SEMILLA);
+        original = new Integer[n];
+        for (int i = 0; i < n; i++)
+            original[i] = random.nextInt(distintos);
+    }
+
+    /**
+     * Mide QuickSort con partición en dos vías.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] quickSort() {
+        Integer[] a = original.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    /**
+     * Mide QuickSort con partición en tres vías.
+     * @return el arreglo ordenado.
+     */
+    @Benchmark public Integer[] quickSortTresVias() {
+        Integer[] a = original.clone();
+        Arreglos.quickSortTresVias(a);
+        return a;
+    }
+}
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.NoSuchElementException;
 
 /**
@@ -23,6 +25,9 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         protected Vertice izquierdo;
         /** El derecho del vértice. */
         protected Vertice derecho;
+        /** La altura del vértice; las clases herederas la mantienen al día
+         *  por medio de {@link ArbolBinario#actualizaHaciaArriba}. */
+        protected int altura;
 
         /**
          * Constructor único que recibe un elemento.
@@ -103,28 +108,13 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         }
 
         /**
-         * Regresa la altura del vértice.
+         * Regresa la altura del vértice. La altura está guardada en el
+         * vértice, así que el método es de tiempo constante.
          * @return la altura del vértice.
          */
         @Override public int altura() {
             // Aquí va su código.
-            return altura(this);
-        }
-
-        private int altura(Vertice v) {
-            if (v == null)
-                return -1;
-
-            int a = altura(v.izquierdo);
-            int b = altura(v.derecho);
-            return 1 + max(a, b);
-        }
-
-        private int max(int a, int b) {
-            if (a > b)
-                return a;
-
-            return b;
+            return altura;
         }
 
         /**
@@ -133,17 +123,15 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          */
         @Override public int profundidad() {
             // Aquí va su código.
-            return profundidad(this);
-        }
-
-        private int profundidad(Vertice v) {
-            if (v == null)
-                return -1;
+            int p = 0;
+            Vertice v = padre;
 
-            if (v.padre == null)
-                return 0;
+            while (v != null) {
+                p++;
+                v = v.padre;
+            }
 
-            return 1 + profundidad(v.padre);
+            return p;
         }
 
         /**
@@ -253,16 +241,39 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         return altura(raiz);
     }
 
+    /* Regresa la altura de un vértice que puede ser null. */
     private int altura(Vertice v) {
-        if (v == null)
-            return -1;
-        return 1 + max(altura(v.izquierdo), altura(v.derecho));
+        return v == null ? -1 : v.altura;
+    }
+
+    /**
+     * Recalcula la información que el vértice guarda sobre su subárbol a
+     * partir de la de sus hijos, que se supone correcta. Las clases herederas
+     * que guarden más información en sus vértices pueden sobrecargar este
+     * método para mantenerla.
+     * @param vertice el vértice a actualizar.
+     * @return <code>true</code> si la información del vértice cambió,
+     *         <code>false</code> en otro caso.
+     */
+    protected boolean actualiza(Vertice vertice) {
+        int a = 1 + Math.max(altura(vertice.izquierdo),
+                             altura(vertice.derecho));
+        if (a == vertice.altura)
+            return false;
+        vertice.altura = a;
+        return true;
     }
 
-    private int max (int a,  int b) {
-        if (a > b)
-            return a;
-        return b;
+    /**
+     * Actualiza el vértice y sus ancestros después de un cambio en la
+     * estructura debajo del vértice. Se detiene en el primer vértice cuya
+     * información no cambie, porque la de sus ancestros tampoco cambia.
+     * @param vertice el vértice más profundo cuya información puede haber
+     *                cambiado; puede ser <code>null</code>.
+     */
+    protected void actualizaHaciaArriba(Vertice vertice) {
+        while (vertice != null && actualiza(vertice))
+            vertice = vertice.padre;
     }
 
     /**
@@ -391,70 +402,62 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
     /**
      * Regresa una representación en cadena del árbol.
      * @return una representación en cadena del árbol.
+     * @see #escribe
      */
     @Override public String toString() {
         // Aquí va su código.
-        if (raiz == null)
-            return "";
-
-        return toString(raiz);
-    }
-
-    private String toString(Vertice temp) {
-        String r = "";
-
-        for (int i = 1; i < temp.profundidad(); i++) {
-            r = r + "  ";
+        StringBuilder sb = new StringBuilder();
+        try {
+            escribe(sb);
+        } catch (IOException ioe) {
+            /* Un StringBuilder nunca lanza IOException. */
+            throw new UncheckedIOException(ioe);
         }
-
-        if(temp != raiz) {
-            if (!(temp.profundidad() == 1) && !soyDerecho(temp))
-                r = "│" + r;
-
-            if (soyDerecho(temp) && temp.profundidad() != 1) {
-                r = " " + r;
-            }
-
-            if (temp.profundidad() >= 1)
-                if (temp.padre.izquierdo == temp && temp.padre.derecho != null)
-                    r += "├─";
-                else
-                    r += "└─";
-
-            if (temp.padre.izquierdo == temp)
-                r += "›" + temp.toString() + "\n";
-
-            else
-                r += "»" + temp.toString() + "\n";
-        }
-        else
-            r = temp.toString() + "\n";
-
-        String a = "", b = "";
-
-        if (temp.izquierdo != null)
-            a = toString(temp.izquierdo);
-
-        if (temp.derecho != null)
-            b = toString(temp.derecho);
-
-
-        return r + a + b;
+        return sb.toString();
     }
 
-    private boolean soyDerecho(Vertice v) {
-        if (v == null) {
-            return false;
-        }
-        Vertice temp = v;
+    /**
+     * Escribe la representación en cadena del árbol en la salida recibida,
+     * un vértice por renglón, sin construir la cadena completa. El árbol se
+     * recorre en preorden siguiendo los padres de los vértices, sin recursión
+     * ni pila, así que el tiempo es lineal en el tamaño de la salida y la
+     * memoria adicional es un renglón.
+     * @param salida la salida donde se escribirá el árbol.
+     * @throws IOException si la salida lanza la excepción al escribir.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        /* Las columnas de los ancestros del vértice actual: "│  " si el
+         * ancestro es izquierdo y tiene hermano derecho, "   " si no. */
+        StringBuilder prefijo = new StringBuilder();
+        Vertice v = raiz;
+        int profundidad = 0;
+        while (v != null) {
+            if (v == raiz) {
+                salida.append(v.toString()).append('\n');
+            } else {
+                prefijo.setLength(3 * (profundidad - 1));
+                boolean conHermano = v == v.padre.izquierdo &&
+                    v.padre.derecho != null;
+                salida.append(prefijo)
+                    .append(conHermano ? "├─" : "└─")
+                    .append(v == v.padre.izquierdo ? "›" : "»")
+                    .append(v.toString()).append('\n');
+                prefijo.append(conHermano ? "│  " : "   ");
+            }
 
-        while (v != raiz) {
-            temp = v;
-            v = v.padre;
+            if (v.izquierdo != null || v.derecho != null) {
+                v = v.izquierdo != null ? v.izquierdo : v.derecho;
+                profundidad++;
+                continue;
+            }
+            /* Subimos hasta un vértice izquierdo con hermano derecho. */
+            while (v != raiz &&
+                   (v == v.padre.derecho || v.padre.derecho == null)) {
+                v = v.padre;
+                profundidad--;
+            }
+            v = v == raiz ? null : v.padre.derecho;
         }
-
-        return !(v.izquierdo == temp);
-
     }
 
     /**
@@ -1,6 +1,7 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * <p>Clase para árboles binarios completos.</p>
@@ -13,40 +14,41 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     /* Clase interna privada para iteradores. */
     private class Iterador implements Iterator<T> {
 
-        /* Cola para recorrer los vértices en BFS. */
-        private Cola<Vertice> cola;
+        /* Índice del siguiente vértice en el arreglo. */
+        private int siguiente;
 
         /* Inicializa al iterador. */
         private Iterador() {
             // Aquí va su código.
-            cola = new Cola<Vertice>();
-
-            if(raiz != null)
-                cola.mete(raiz);
+            siguiente = 0;
         }
 
         /* Nos dice si hay un elemento siguiente. */
         @Override public boolean hasNext() {
             // Aquí va su código.
-            return !cola.esVacia();
+            return siguiente < elementos;
         }
 
         /* Regresa el siguiente elemento en orden BFS. */
         @Override public T next() {
             // Aquí va su código.
-            Vertice temp = cola.saca();
-
-            if (temp.izquierdo != null)
-                cola.mete(temp.izquierdo);
-                
-            if (temp.derecho != null)
-                cola.mete(temp.derecho);
-
-            return temp.elemento;
+            if (!hasNext())
+                throw new NoSuchElementException();
 
+            return arreglo[siguiente++].elemento;
         }
     }
 
+    /* Capacidad inicial del arreglo de vértices. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Los vértices del árbol en orden BFS. Como el árbol siempre es completo,
+     * el padre del vértice en el índice i está en (i-1)/2, y sus hijos en
+     * 2i+1 y 2i+2. No se inicializa en su declaración porque el constructor
+     * de ArbolBinario ya agrega elementos antes de que se inicialicen los
+     * campos de esta clase. */
+    private Vertice[] arreglo;
+
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros
      * de {@link ArbolBinario}.
@@ -74,41 +76,32 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         // Aquí va su código.
         if (elemento == null)
             throw new IllegalArgumentException();
-        
-        if (esVacia()) {
-            Vertice v = nuevoVertice(elemento);
+
+        if (arreglo == null)
+            arreglo = nuevoArreglo(CAPACIDAD_INICIAL);
+        else if (elementos == arreglo.length)
+            arreglo = copiaArreglo(arreglo, 2 * arreglo.length);
+
+        Vertice v = nuevoVertice(elemento);
+        arreglo[elementos] = v;
+
+        if (elementos == 0) {
             raiz = v;
             elementos = 1;
             return;
         }
 
-        Cola<Vertice> cola = new Cola<Vertice>();
-        cola.mete(raiz);
-
-        while (!cola.esVacia()) {
-            Vertice n = cola.saca();
-
-            if (n.izquierdo == null) {
-                Vertice temp = nuevoVertice(elemento);
-                n.izquierdo = temp;
-                temp.padre = n;
-                elementos++;
-                return;
-            }
-
-            if (n.derecho == null) {
-                Vertice temp = nuevoVertice(elemento);
-                n.derecho = temp;
-                temp.padre = n;
-                elementos++;
-                return;
-            }
-
-            cola.mete(n.izquierdo);
-            cola.mete(n.derecho);
-        }
+        Vertice p = arreglo[(elementos - 1) / 2];
+        v.padre = p;
+
+        if (elementos % 2 == 1)
+            p.izquierdo = v;
+        else
+            p.derecho = v;
+
+        elementos++;
+        actualizaHaciaArriba(p);
     }
-    
 
     /**
      * Elimina un elemento del árbol. El elemento a eliminar cambia lugares con
@@ -118,44 +111,77 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
      */
     @Override public void elimina(T elemento) {
         // Aquí va su código.
-        if(esVacia() || elemento == null)
+        if (esVacia() || elemento == null)
             return;
 
-        Vertice eliminar = vertice(busca(elemento));
+        int i = indiceDe(elemento);
 
-        if (eliminar == null) //Si no hay vertice con ese elemento, regresamos
+        if (i == -1) //Si no hay vertice con ese elemento, regresamos
             return;
 
-        Cola<Vertice> cola = new Cola<>();
-        cola.mete(raiz);
-
-        Vertice ultimo = null; //Buscamos el ultimo vertice agregado
-        while (!cola.esVacia()) {
-            ultimo = cola.saca();
-
-            if (ultimo.izquierdo != null)
-                cola.mete(ultimo.izquierdo);
-
-            if (ultimo.derecho != null)
-                cola.mete(ultimo.derecho);
-        }
+        Vertice eliminar = arreglo[i];
+        Vertice ultimo = arreglo[--elementos];
+        arreglo[elementos] = null;
 
         T temp = ultimo.elemento;
         ultimo.elemento = eliminar.elemento;
         eliminar.elemento = temp;
 
-        if (ultimo.padre != null) {
-            if (ultimo.padre.izquierdo == ultimo)
-                ultimo.padre.izquierdo = null;
-            else
-                ultimo.padre.derecho = null;
-
-            ultimo.padre = null;
-            elementos--;
+        if (ultimo.padre == null) {
+            raiz = null;
+            return;
         }
 
+        Vertice p = ultimo.padre;
+
+        if (p.izquierdo == ultimo)
+            p.izquierdo = null;
         else
-            limpia();
+            p.derecho = null;
+
+        ultimo.padre = null;
+        actualizaHaciaArriba(p);
+    }
+
+    /* Regresa el índice en el arreglo del primer vértice en orden BFS que
+     * contiene el elemento, o -1 si ninguno lo contiene. */
+    private int indiceDe(T elemento) {
+        for (int i = 0; i < elementos; i++)
+            if (arreglo[i].elemento.equals(elemento))
+                return i;
+
+        return -1;
+    }
+
+    /**
+     * Nos dice si un elemento está en el árbol binario completo. El método
+     * recorre el arreglo de vértices en orden BFS.
+     * @param elemento el elemento que queremos comprobar si está en el árbol.
+     * @return <code>true</code> si el elemento está en el árbol;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Busca el vértice de un elemento en el árbol. El método recorre el arreglo
+     * de vértices en orden BFS. Si no lo encuentra regresa <code>null</code>.
+     * @param elemento el elemento para buscar el vértice.
+     * @return un vértice que contiene el elemento buscado si lo encuentra;
+     *         <code>null</code> en otro caso.
+     */
+    @Override public VerticeArbolBinario<T> busca(T elemento) {
+        int i = indiceDe(elemento);
+        return i == -1 ? null : arreglo[i];
+    }
+
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        super.limpia();
+        arreglo = null;
     }
 
     /**
@@ -168,40 +194,32 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
         if (esVacia())
             return -1;
 
-        return log(elementos);
-    }
-
-    private int log(int n) {
-        int r = 0;
-        int temp = n;
-        while(temp > 1) {
-            temp = temp / 2;
-            r++;
-        }
-
-        return r;
+        return 31 - Integer.numberOfLeadingZeros(elementos);
     }
 
     /**
      * Realiza un recorrido BFS en el árbol, ejecutando la acción recibida en
-     * cada elemento del árbol.
+     * cada elemento del árbol. El recorrido es una lectura secuencial del
+     * arreglo de vértices.
      * @param accion la acción a realizar en cada elemento del árbol.
      */
     public void bfs(AccionVerticeArbolBinario<T> accion) {
         // Aquí va su código.
-        Cola<Vertice> cola = new Cola<Vertice>();
-        cola.mete(raiz);
-
-        while (!cola.esVacia()) {
-            Vertice n = cola.saca();
-            accion.actua(n);
+        for (int i = 0; i < elementos; i++)
+            accion.actua(arreglo[i]);
+    }
 
-            if (n.izquierdo != null)
-                cola.mete(n.izquierdo);
+    /* Crea un arreglo de vértices. */
+    @SuppressWarnings("unchecked") private Vertice[] nuevoArreglo(int n) {
+        return (Vertice[])new ArbolBinario<?>.Vertice[n];
+    }
 
-            if (n.derecho != null)
-                cola.mete(n.derecho);
-        }
+    /* Copia un arreglo de vértices a uno nuevo de la capacidad recibida. */
+    private Vertice[] copiaArreglo(Vertice[] a, int n) {
+        Vertice[] r = nuevoArreglo(n);
+        for (int i = 0; i < a.length && i < n; i++)
+            r[i] = a[i];
+        return r;
     }
 
     /**
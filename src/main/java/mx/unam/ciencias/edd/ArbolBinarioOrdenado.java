@@ -1,6 +1,8 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * <p>Clase para árboles binarios ordenados. Los árboles son genéricos, pero
@@ -17,52 +19,62 @@ import java.util.Iterator;
 public class ArbolBinarioOrdenado<T extends Comparable<T>>
     extends ArbolBinario<T> {
 
-    /* Clase interna privada para iteradores. */
+    /* Si eliminaSi elimina por lo menos uno de cada tantos elementos, el
+     * árbol se reconstruye con los sobrevivientes en lugar de eliminarlos uno
+     * por uno. */
+    private static final int FRACCION_RECONSTRUCCION = 8;
+
+    /* Clase interna privada para iteradores. Recorre el árbol siguiendo los
+     * apuntadores a padre de los vértices, así que no usa memoria adicional ni
+     * crea objetos en cada paso. */
     private class Iterador implements Iterator<T> {
 
-        /* Pila para recorrer los vértices en DFS in-order. */
-        private Pila<Vertice> pila;
+        /* El vértice con el siguiente elemento. */
+        private Vertice siguiente;
+        /* El límite del recorrido, o null si no tiene. */
+        private T limite;
+        /* Si el recorrido es en orden descendente. */
+        private boolean descendente;
 
         /* Inicializa al iterador. */
         private Iterador() {
             // Aquí va su código.
-            pila = new Pila<Vertice>();
-            Vertice aux = null;
-
-            if (raiz != null) {
-                pila.mete(raiz);
-                aux = raiz.izquierdo;
-            }
-
-            while (aux != null) {
-                pila.mete(aux);
-                aux = aux.izquierdo;
-            }
+            if (raiz != null)
+                siguiente = minimo(raiz);
         }
 
+        /* Inicializa al iterador en un vértice. Si el recorrido es ascendente
+         * termina antes del primer elemento mayor o igual que el límite; si es
+         * descendente, después del último elemento mayor o igual que el
+         * límite. */
+        private Iterador(Vertice primero, T limite, boolean descendente) {
+            this.siguiente = primero;
+            this.limite = limite;
+            this.descendente = descendente;
+        }
 
         /* Nos dice si hay un elemento siguiente. */
         @Override public boolean hasNext() {
             // Aquí va su código.
-            return !pila.esVacia();
+            if (siguiente == null)
+                return false;
+
+            if (limite == null)
+                return true;
+
+            int c = siguiente.elemento.compareTo(limite);
+            return descendente ? c >= 0 : c < 0;
         }
 
         /* Regresa el siguiente elemento en orden DFS in-order. */
         @Override public T next() {
             // Aquí va su código.
-            Vertice temp = pila.saca();
+            if (!hasNext())
+                throw new NoSuchElementException();
 
-            if (temp.derecho != null) {
-                pila.mete(temp.derecho);
-                Vertice aux = temp.derecho.izquierdo;
-
-                while (aux != null) {
-                    pila.mete(aux);
-                    aux = aux.izquierdo;
-                }
-            }
-
-            return temp.elemento;
+            T r = siguiente.elemento;
+            siguiente = descendente ? predecesor(siguiente) : sucesor(siguiente);
+            return r;
         }
     }
 
@@ -75,6 +87,10 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     protected Vertice ultimoAgregado;
 
+    /* Durante agregaTodos, el vértice del elemento agregado anteriormente;
+     * null en otro caso. */
+    private Vertice dedo;
+
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros
      * de {@link ArbolBinario}.
@@ -108,8 +124,11 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
             return;
         }
 
-        // Buscamos el lugar donde debemos insertar el nuevo vértice.
+        // Buscamos el lugar donde debemos insertar el nuevo vértice; en una
+        // corrida ordenada de agregaTodos basta buscar desde el dedo.
         Vertice actual = raiz;
+        if (dedo != null && elemento.compareTo(dedo.elemento) >= 0)
+            actual = subarbolDesde(dedo, elemento);
         Vertice padre = null;
 
         while (actual != null) {
@@ -136,6 +155,135 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         nuevo.padre = padre;
         elementos++;
         ultimoAgregado = nuevo;
+        actualizaHaciaArriba(padre);
+    }
+
+    /**
+     * Agrega todos los elementos del iterable al árbol. Si el iterable es una
+     * colección ordenada con por lo menos tantos elementos como el árbol, sus
+     * elementos se mezclan con los del árbol y éste se reconstruye balanceado
+     * en tiempo lineal. En otro caso, mientras los elementos vengan ordenados
+     * cada uno se busca a partir del vértice del elemento anterior en lugar de
+     * desde la raíz; un elemento menor que el anterior se busca desde la raíz.
+     * @param elementos los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es
+     *         <code>null</code>; los elementos anteriores a él pueden haber
+     *         sido agregados.
+     */
+    @Override public void agregaTodos(Iterable<? extends T> elementos) {
+        if (elementos instanceof Coleccion) {
+            Coleccion<? extends T> c = (Coleccion<? extends T>)elementos;
+            int k = c.getElementos();
+            if (k > 0 && k >= this.elementos && mezclaOrdenados(c, k))
+                return;
+        }
+
+        try {
+            for (T e : elementos) {
+                if (e == null)
+                    throw new IllegalArgumentException();
+                agrega(e);
+                dedo = ultimoAgregado;
+            }
+        } finally {
+            dedo = null;
+        }
+    }
+
+    /* Si los k elementos de la colección están ordenados, reconstruye el árbol
+     * con la mezcla de sus elementos y los del árbol, dejando los iguales del
+     * árbol antes que los de la colección, como lo haría agrega. Si no están
+     * ordenados regresa false sin modificar el árbol. */
+    private boolean mezclaOrdenados(Coleccion<? extends T> c, int k) {
+        T[] b = nuevoArreglo(k);
+        int j = 0;
+        for (T e : c) {
+            if (e == null)
+                throw new IllegalArgumentException();
+            if (j > 0 && b[j-1].compareTo(e) > 0)
+                return false;
+            b[j++] = e;
+        }
+
+        T[] a = nuevoArreglo(elementos + k);
+        int i = 0;
+        j = 0;
+        for (T e : this) {
+            while (j < k && b[j].compareTo(e) < 0)
+                a[i++] = b[j++];
+            a[i++] = e;
+        }
+        while (j < k)
+            a[i++] = b[j++];
+        construye(a, i);
+        return true;
+    }
+
+    /* Regresa el vértice que tiene exactamente al objeto recibido. Como
+     * eliminar intercambia elementos entre vértices, los vértices no sirven
+     * para recordar elementos entre eliminaciones; el objeto se busca entre
+     * los vértices con elementos iguales a él. */
+    private Vertice verticeDe(T elemento) {
+        Vertice v = techo(elemento, false);
+        while (v.elemento != elemento)
+            v = sucesor(v);
+        return v;
+    }
+
+    /* Crea un arreglo genérico con n lugares. Como T extiende a Comparable,
+     * el arreglo tiene que ser de Comparable y no de Object. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])new Comparable<?>[n];
+    }
+
+    /* Regresa el vértice más bajo, entre el recibido y sus ancestros, en cuyo
+     * subárbol va un elemento mayor o igual que el del vértice recibido. La
+     * cota inferior de todos esos subárboles ya se cumple; basta subir hasta
+     * el primer ancestro por la izquierda cuyo elemento sea mayor. */
+    private Vertice subarbolDesde(Vertice v, T elemento) {
+        Vertice w = v;
+        while (true) {
+            while (w.padre != null && w.padre.derecho == w)
+                w = w.padre;
+            if (w.padre == null || elemento.compareTo(w.padre.elemento) < 0)
+                return v;
+            v = w = w.padre;
+        }
+    }
+
+    /**
+     * Elimina del árbol todos los elementos que cumplen la condición. El
+     * árbol se recorre una vez en orden, separando a los elementos que
+     * sobreviven de los que hay que eliminar. Si hay que eliminar por lo menos
+     * uno de cada {@value #FRACCION_RECONSTRUCCION} elementos, el árbol se
+     * reconstruye balanceado con los sobrevivientes en tiempo lineal; si no,
+     * los elementos se eliminan uno por uno. Cada elemento eliminado es
+     * justamente el objeto que cumplió la condición, aunque haya otros que
+     * sean iguales a él según <code>compareTo</code>.
+     * @param condicion la condición que cumplen los elementos a eliminar.
+     * @return el número de elementos eliminados.
+     */
+    @Override public int eliminaSi(Predicate<? super T> condicion) {
+        T[] sobrevivientes = nuevoArreglo(elementos);
+        Lista<T> eliminados = new Lista<T>();
+        int n = 0;
+        for (T e : this) {
+            if (condicion.test(e))
+                eliminados.agrega(e);
+            else
+                sobrevivientes[n++] = e;
+        }
+
+        int k = eliminados.getLongitud();
+        if (k == 0)
+            return 0;
+        if (k >= elementos / FRACCION_RECONSTRUCCION) {
+            construye(sobrevivientes, n);
+        } else {
+            for (T e : eliminados)
+                eliminaEnVertice(verticeDe(e));
+        }
+        return k;
     }
 
     /**
@@ -151,9 +299,17 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         if (eliminar == null)
             return;
 
+        eliminaEnVertice(eliminar);
+    }
 
+    /**
+     * Elimina el elemento del vértice recibido, que debe estar en el árbol.
+     * El árbol conserva su orden in-order.
+     * @param eliminar el vértice con el elemento a eliminar.
+     */
+    protected void eliminaEnVertice(Vertice eliminar) {
         if (!(eliminar.derecho != null && eliminar.izquierdo != null)) {
-            if (eliminar.padre == null && eliminar.derecho == null && eliminar.izquierdo == null && eliminar.elemento.equals(elemento)) {
+            if (eliminar.padre == null && eliminar.derecho == null && eliminar.izquierdo == null) {
                 limpia();
                 return;
             }
@@ -229,55 +385,34 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         if (vertice == null || (vertice.derecho != null && vertice.izquierdo != null))
             return;
 
-        if (vertice.derecho == null && vertice.izquierdo == null) {
-            if (vertice.padre != null) {
-                if (vertice.padre.derecho == vertice)
-                    vertice.padre.derecho = null;
+        Vertice p = vertice.padre;
+        Vertice sustituto = null;
 
-                else
-                    vertice.padre.izquierdo = null;
+        if (vertice.izquierdo != null)
+            sustituto = vertice.izquierdo;
 
-                vertice.padre  = null;
-                elementos--;
+        else
+            sustituto = vertice.derecho;
 
-            }
-        }
+        // Una raíz sin hijos la elimina quien llama al método, con limpia().
+        if (p == null && sustituto == null)
+            return;
 
-        if (vertice.padre != null) {
-            Vertice p = vertice.padre;
-            Vertice sustituto = null;
+        if (sustituto != null)
+            sustituto.padre = p;
 
-            if (vertice.izquierdo != null)
-                sustituto = vertice.izquierdo;
+        if (p == null)
+            raiz = sustituto;
 
-            else
-                sustituto = vertice.derecho;
-
-            if (p.izquierdo == vertice) {
-                p.izquierdo = sustituto;
-                sustituto.padre = p;
-                elementos--;
-                return;
-            }
+        else if (p.izquierdo == vertice)
+            p.izquierdo = sustituto;
 
+        else
             p.derecho = sustituto;
-            sustituto.padre = p;
-            elementos--;
-        }
 
-        else {
-            if (vertice.izquierdo != null) {
-                vertice.izquierdo.padre = null;
-                raiz = vertice.izquierdo;
-                elementos--;
-            }
-
-            else if (vertice.derecho != null) {
-                vertice.derecho.padre = null;
-                raiz = vertice.derecho;
-                elementos--;
-            }
-        }
+        vertice.padre = null;
+        elementos--;
+        actualizaHaciaArriba(p);
     }
 
     /**
@@ -306,6 +441,245 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 
     }
 
+    /**
+     * Reemplaza los elementos del árbol con los primeros <code>n</code>
+     * elementos del arreglo recibido, que deben estar ordenados. El árbol
+     * resultante está perfectamente balanceado: todos sus niveles están
+     * llenos excepto tal vez el último. El método es de tiempo lineal.
+     * @param ordenados el arreglo con los elementos ordenados.
+     * @param n el número de elementos del arreglo a usar.
+     */
+    protected void construye(T[] ordenados, int n) {
+        limpia();
+        raiz = construye(ordenados, 0, n - 1);
+        elementos = n;
+        ultimoAgregado = null;
+    }
+
+    /* Construye el subárbol balanceado con los elementos del arreglo entre
+     * los índices ini y fin, y regresa su raíz. */
+    private Vertice construye(T[] a, int ini, int fin) {
+        if (ini > fin)
+            return null;
+
+        int m = (ini + fin) >>> 1;
+        Vertice v = nuevoVertice(a[m]);
+        v.izquierdo = construye(a, ini, m - 1);
+        v.derecho = construye(a, m + 1, fin);
+
+        if (v.izquierdo != null)
+            v.izquierdo.padre = v;
+
+        if (v.derecho != null)
+            v.derecho.padre = v;
+
+        actualiza(v);
+        return v;
+    }
+
+    /**
+     * Nos dice si un elemento está en el árbol. Como el árbol está ordenado,
+     * el método sólo recorre un camino de la raíz a una hoja.
+     * @param elemento el elemento que queremos comprobar si está en el árbol.
+     * @return <code>true</code> si el elemento está en el árbol;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return busca(elemento) != null;
+    }
+
+    /**
+     * Regresa el elemento mínimo del árbol.
+     * @return el elemento mínimo del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T getPrimero() {
+        if (esVacia())
+            throw new NoSuchElementException();
+
+        return minimo(raiz).elemento;
+    }
+
+    /**
+     * Regresa el elemento máximo del árbol.
+     * @return el elemento máximo del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T getUltimo() {
+        if (esVacia())
+            throw new NoSuchElementException();
+
+        return maximo(raiz).elemento;
+    }
+
+    /**
+     * Regresa el mayor elemento del árbol que es menor o igual que el elemento
+     * recibido.
+     * @param elemento el elemento con el que se compara.
+     * @return el mayor elemento del árbol menor o igual que
+     *         <code>elemento</code>, o <code>null</code> si no hay ninguno.
+     */
+    public T piso(T elemento) {
+        return elementoDe(piso(elemento, false));
+    }
+
+    /**
+     * Regresa el menor elemento del árbol que es mayor o igual que el elemento
+     * recibido.
+     * @param elemento el elemento con el que se compara.
+     * @return el menor elemento del árbol mayor o igual que
+     *         <code>elemento</code>, o <code>null</code> si no hay ninguno.
+     */
+    public T techo(T elemento) {
+        return elementoDe(techo(elemento, false));
+    }
+
+    /**
+     * Regresa el mayor elemento del árbol que es estrictamente menor que el
+     * elemento recibido.
+     * @param elemento el elemento con el que se compara.
+     * @return el mayor elemento del árbol menor que <code>elemento</code>, o
+     *         <code>null</code> si no hay ninguno.
+     */
+    public T anterior(T elemento) {
+        return elementoDe(piso(elemento, true));
+    }
+
+    /**
+     * Regresa el menor elemento del árbol que es estrictamente mayor que el
+     * elemento recibido.
+     * @param elemento el elemento con el que se compara.
+     * @return el menor elemento del árbol mayor que <code>elemento</code>, o
+     *         <code>null</code> si no hay ninguno.
+     */
+    public T siguiente(T elemento) {
+        return elementoDe(techo(elemento, true));
+    }
+
+    /**
+     * Regresa una vista de los elementos <em>e</em> del árbol tales que
+     * <code>desde</code> ≤ <em>e</em> &lt; <code>hasta</code>, en orden. La
+     * vista es perezosa: cada iterador baja al primer elemento del intervalo
+     * en tiempo proporcional a la altura del árbol, y de ahí avanza en orden
+     * sin copiar los elementos. Si el árbol se modifica mientras se recorre la
+     * vista, el comportamiento del iterador es indefinido.
+     * @param desde el extremo inferior (incluido) del intervalo.
+     * @param hasta el extremo superior (excluido) del intervalo.
+     * @return una vista iterable de los elementos en el intervalo.
+     */
+    public Iterable<T> intervalo(T desde, T hasta) {
+        return () -> new Iterador(techo(desde, false), hasta, false);
+    }
+
+    /**
+     * Regresa una vista de los elementos del árbol en orden descendente. La
+     * vista es perezosa: cada iterador empieza en el elemento máximo en tiempo
+     * proporcional a la altura del árbol, sin copiar ni invertir los
+     * elementos.
+     * @return una vista iterable de los elementos en orden descendente.
+     */
+    public Iterable<T> descendente() {
+        return () -> iteradorDescendente();
+    }
+
+    /**
+     * Regresa una vista de los elementos <em>e</em> del árbol tales que
+     * <code>desde</code> ≤ <em>e</em> &lt; <code>hasta</code>, en orden
+     * descendente. La vista es perezosa: cada iterador baja al último elemento
+     * del intervalo en tiempo proporcional a la altura del árbol, y de ahí
+     * retrocede en orden sin copiar los elementos. Si el árbol se modifica
+     * mientras se recorre la vista, el comportamiento del iterador es
+     * indefinido.
+     * @param desde el extremo inferior (incluido) del intervalo.
+     * @param hasta el extremo superior (excluido) del intervalo.
+     * @return una vista iterable de los elementos en el intervalo, en orden
+     *         descendente.
+     */
+    public Iterable<T> intervaloDescendente(T desde, T hasta) {
+        return () -> new Iterador(piso(hasta, true), desde, true);
+    }
+
+    /* Regresa el elemento del vértice, o null si el vértice es null. */
+    private T elementoDe(Vertice v) {
+        return v == null ? null : v.elemento;
+    }
+
+    /* Regresa el vértice con el elemento mínimo del subárbol. */
+    private Vertice minimo(Vertice v) {
+        while (v.izquierdo != null)
+            v = v.izquierdo;
+        return v;
+    }
+
+    /* Regresa el vértice con el elemento máximo del subárbol. */
+    private Vertice maximo(Vertice v) {
+        while (v.derecho != null)
+            v = v.derecho;
+        return v;
+    }
+
+    /* Regresa el vértice anterior in-order, o null si no hay. */
+    private Vertice predecesor(Vertice v) {
+        if (v.izquierdo != null)
+            return maximo(v.izquierdo);
+
+        while (v.padre != null && v.padre.izquierdo == v)
+            v = v.padre;
+
+        return v.padre;
+    }
+
+    /* Regresa el vértice siguiente in-order, o null si no hay. */
+    private Vertice sucesor(Vertice v) {
+        if (v.derecho != null)
+            return minimo(v.derecho);
+
+        while (v.padre != null && v.padre.derecho == v)
+            v = v.padre;
+
+        return v.padre;
+    }
+
+    /* Regresa el último vértice in-order cuyo elemento es menor o igual (o
+     * estrictamente menor) que el recibido, o null si no hay. */
+    private Vertice piso(T elemento, boolean estricto) {
+        Vertice r = null;
+        Vertice v = raiz;
+
+        while (v != null) {
+            int c = elemento.compareTo(v.elemento);
+
+            if (c > 0 || (c == 0 && !estricto)) {
+                r = v;
+                v = v.derecho;
+            } else {
+                v = v.izquierdo;
+            }
+        }
+
+        return r;
+    }
+
+    /* Regresa el primer vértice in-order cuyo elemento es mayor o igual (o
+     * estrictamente mayor) que el recibido, o null si no hay. */
+    private Vertice techo(T elemento, boolean estricto) {
+        Vertice r = null;
+        Vertice v = raiz;
+
+        while (v != null) {
+            int c = elemento.compareTo(v.elemento);
+
+            if (c < 0 || (c == 0 && !estricto)) {
+                r = v;
+                v = v.izquierdo;
+            } else {
+                v = v.derecho;
+            }
+        }
+
+        return r;
+    }
+
     /**
      * Regresa el vértice que contiene el último elemento agregado al
      * árbol. Este método sólo se puede garantizar que funcione
@@ -367,6 +741,10 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
             p.padre = null;
             raiz = p;
         }
+
+        actualiza(q);
+        actualiza(p);
+        actualizaHaciaArriba(p.padre);
     }
 
     /**
@@ -415,6 +793,10 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
             p.padre = null;
             raiz = p;
         }
+
+        actualiza(q);
+        actualiza(p);
+        actualizaHaciaArriba(p.padre);
     }
 
     /**
@@ -472,6 +854,16 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         }
     }
 
+    /**
+     * Regresa un iterador para iterar el árbol en orden descendente, del
+     * elemento máximo al mínimo. Como el iterador ascendente, recorre el árbol
+     * siguiendo los apuntadores a padre sin memoria adicional.
+     * @return un iterador para iterar el árbol en orden descendente.
+     */
+    public Iterator<T> iteradorDescendente() {
+        return new Iterador(raiz == null ? null : maximo(raiz), null, true);
+    }
+
     /**
      * Regresa un iterador para iterar el árbol. El árbol se itera en orden.
      * @return un iterador para iterar el árbol.
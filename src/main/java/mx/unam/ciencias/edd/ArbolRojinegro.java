@@ -13,7 +13,9 @@ package mx.unam.ciencias.edd;
  *      mismo número de vértices NEGROS.</li>
  * </ol>
  *
- * Los árboles rojinegros se autobalancean.
+ * Los árboles rojinegros se autobalancean. Además, cada vértice guarda el
+ * número de vértices en su subárbol, lo que permite consultar estadísticos de
+ * orden en tiempo logarítmico.
  */
 public class ArbolRojinegro<T extends Comparable<T>>
     extends ArbolBinarioOrdenado<T> {
@@ -25,6 +27,8 @@ public class ArbolRojinegro<T extends Comparable<T>>
 
         /** El color del vértice. */
         public Color color;
+        /** El peso del vértice: el número de vértices en su subárbol. */
+        protected int peso;
 
         /**
          * Constructor único que recibe un elemento.
@@ -34,6 +38,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
             // Aquí va su código.
             super(elemento);
             this.color = Color.NINGUNO;
+            this.peso = 1;
 
         }
 
@@ -93,6 +98,87 @@ public class ArbolRojinegro<T extends Comparable<T>>
         super(coleccion);
     }
 
+    /**
+     * Construye un árbol rojinegro balanceado con los elementos de la colección
+     * recibida, sin agregarlos uno por uno. Si la colección ya está ordenada
+     * (como una lista ordenada con {@link Lista#mergeSort(Lista)}) el árbol se
+     * construye en tiempo lineal; si no, primero se ordena una copia de sus
+     * elementos con {@link Arreglos#quickSort(Comparable[])}.
+     * @param <T> tipo del que puede ser el árbol rojinegro.
+     * @param coleccion la colección a partir de la cual creamos el árbol.
+     * @return un árbol rojinegro con los mismos elementos que la colección.
+     */
+    public static <T extends Comparable<T>> ArbolRojinegro<T>
+    balanceado(Coleccion<T> coleccion) {
+        T[] a = nuevoArreglo(coleccion.getElementos());
+        int n = 0;
+        for (T e : coleccion)
+            a[n++] = e;
+        return balanceadoDe(a);
+    }
+
+    /**
+     * Construye un árbol rojinegro balanceado con los elementos del arreglo
+     * recibido, sin agregarlos uno por uno. Si el arreglo ya está ordenado el
+     * árbol se construye en tiempo lineal; si no, primero se ordena una copia
+     * del arreglo con {@link Arreglos#quickSort(Comparable[])}. El arreglo
+     * recibido nunca se modifica.
+     * @param <T> tipo del que puede ser el árbol rojinegro.
+     * @param arreglo el arreglo a partir del cual creamos el árbol.
+     * @return un árbol rojinegro con los mismos elementos que el arreglo.
+     */
+    public static <T extends Comparable<T>> ArbolRojinegro<T>
+    balanceado(T[] arreglo) {
+        return balanceadoDe(arreglo.clone());
+    }
+
+    /* Construye el árbol balanceado con los elementos del arreglo, que puede
+     * ser modificado. */
+    private static <T extends Comparable<T>> ArbolRojinegro<T>
+    balanceadoDe(T[] a) {
+        for (int i = 1; i < a.length; i++) {
+            if (a[i-1].compareTo(a[i]) > 0) {
+                Arreglos.quickSort(a);
+                break;
+            }
+        }
+
+        ArbolRojinegro<T> arbol = new ArbolRojinegro<T>();
+        arbol.construye(a, a.length);
+        return arbol;
+    }
+
+    /* Crea un arreglo genérico con n lugares. */
+    @SuppressWarnings("unchecked") private static <T extends Comparable<T>> T[]
+    nuevoArreglo(int n) {
+        return (T[])new Comparable<?>[n];
+    }
+
+    /**
+     * Construye el árbol balanceado con los elementos ordenados, y lo colorea:
+     * como todos los niveles están llenos excepto tal vez el último, basta
+     * pintar de ROJO a los vértices del último nivel (si no es la raíz) y de
+     * NEGRO a todos los demás.
+     * @param ordenados el arreglo con los elementos ordenados.
+     * @param n el número de elementos del arreglo a usar.
+     */
+    @Override protected void construye(T[] ordenados, int n) {
+        super.construye(ordenados, n);
+        colorea(raiz, 0, altura());
+    }
+
+    /* Colorea el subárbol de un vértice en la profundidad recibida. */
+    private void colorea(Vertice v, int profundidad, int ultimo) {
+        if (v == null)
+            return;
+
+        VerticeRojinegro r = (VerticeRojinegro)v;
+        r.color = profundidad == ultimo && profundidad > 0 ?
+            Color.ROJO : Color.NEGRO;
+        colorea(v.izquierdo, profundidad + 1, ultimo);
+        colorea(v.derecho, profundidad + 1, ultimo);
+    }
+
     /**
      * Construye un nuevo vértice, usando una instancia de {@link
      * VerticeRojinegro}.
@@ -118,6 +204,96 @@ public class ArbolRojinegro<T extends Comparable<T>>
 
     }
 
+    /**
+     * Recalcula la altura y el peso del vértice a partir de los de sus hijos.
+     * @param vertice el vértice a actualizar.
+     * @return <code>true</code> si la altura o el peso del vértice cambiaron,
+     *         <code>false</code> en otro caso.
+     */
+    @Override protected boolean actualiza(Vertice vertice) {
+        boolean cambio = super.actualiza(vertice);
+        VerticeRojinegro v = (VerticeRojinegro)vertice;
+        int p = 1 + peso(v.izquierdo) + peso(v.derecho);
+        if (p == v.peso)
+            return cambio;
+        v.peso = p;
+        return true;
+    }
+
+    /* Regresa el peso de un vértice que puede ser null. */
+    private int peso(Vertice v) {
+        return v == null ? 0 : ((VerticeRojinegro)v).peso;
+    }
+
+    /**
+     * Regresa el <em>k</em>-ésimo elemento del árbol en orden, empezando en
+     * cero. El método es de tiempo logarítmico.
+     * @param k el índice en orden del elemento que queremos.
+     * @return el <em>k</em>-ésimo elemento del árbol en orden.
+     * @throws ExcepcionIndiceInvalido si <em>k</em> es menor que cero o mayor o
+     *         igual que el número de elementos en el árbol.
+     */
+    public T selecciona(int k) {
+        if (k < 0 || k >= elementos)
+            throw new ExcepcionIndiceInvalido();
+
+        Vertice v = raiz;
+
+        while (true) {
+            int i = peso(v.izquierdo);
+
+            if (k == i)
+                return v.elemento;
+
+            if (k < i) {
+                v = v.izquierdo;
+            } else {
+                k -= i + 1;
+                v = v.derecho;
+            }
+        }
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol estrictamente menores que el
+     * elemento recibido; si el elemento está en el árbol, es el índice en
+     * orden de su primera aparición. El método es de tiempo logarítmico.
+     * @param elemento el elemento con el que se compara.
+     * @return el número de elementos en el árbol menores que
+     *         <code>elemento</code>.
+     */
+    public int cuentaMenores(T elemento) {
+        int r = 0;
+        Vertice v = raiz;
+
+        while (v != null) {
+            if (elemento.compareTo(v.elemento) <= 0) {
+                v = v.izquierdo;
+            } else {
+                r += peso(v.izquierdo) + 1;
+                v = v.derecho;
+            }
+        }
+
+        return r;
+    }
+
+    /**
+     * Regresa el número de elementos <em>e</em> en el árbol tales que
+     * <code>desde</code> ≤ <em>e</em> &lt; <code>hasta</code>. El método es de
+     * tiempo logarítmico.
+     * @param desde el extremo inferior (incluido) del intervalo.
+     * @param hasta el extremo superior (excluido) del intervalo.
+     * @return el número de elementos del árbol en el intervalo; cero si
+     *         <code>hasta</code> no es mayor que <code>desde</code>.
+     */
+    public int cuentaEnIntervalo(T desde, T hasta) {
+        if (hasta.compareTo(desde) <= 0)
+            return 0;
+
+        return cuentaMenores(hasta) - cuentaMenores(desde);
+    }
+
     /**
      * Agrega un nuevo elemento al árbol. El método invoca al método {@link
      * ArbolBinarioOrdenado#agrega}, y después balancea el árbol recoloreando
@@ -236,6 +412,18 @@ public class ArbolRojinegro<T extends Comparable<T>>
         if (eliminar == null) //No se elimina pq no se encontró
             return;
 
+        eliminaEnVertice(eliminar);
+    }
+
+    /**
+     * Elimina el elemento del vértice recibido, que debe estar en el árbol,
+     * y después rebalancea el árbol recoloreando vértices y girando el árbol
+     * como sea necesario.
+     * @param vertice el vértice con el elemento a eliminar.
+     */
+    @Override protected void eliminaEnVertice(Vertice vertice) {
+        VerticeRojinegro eliminar = (VerticeRojinegro) vertice;
+
         if (eliminar == raiz && elementos == 1) {
             limpia();
         }
@@ -281,6 +469,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
                     } else {
                         fant.padre.derecho = null;
                     }
+                    actualizaHaciaArriba(fant.padre);
                 }
 
                 break;
@@ -307,6 +496,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
                     } else {
                         posFantasma.padre.derecho = null;
                     }
+                    actualizaHaciaArriba(posFantasma.padre);
                 } else {
                     limpia();
                 }
@@ -546,6 +736,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
             n.color = Color.NEGRO;
             r.izquierdo = n;
             n.padre = r;
+            actualizaHaciaArriba(r);
         }
     }
 
@@ -0,0 +1,385 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * <p>Clase para árboles rojinegros que pueden compartirse entre varias
+ * hebras.</p>
+ *
+ * <p>El árbol envuelve un {@link ArbolRojinegro} y lo protege con un {@link
+ * StampedLock}. Las operaciones que modifican el árbol ({@link #agrega},
+ * {@link #elimina} y {@link #limpia}) toman el candado de escritura, así que
+ * hay a lo más un escritor a la vez. {@link #contiene}, {@link #busca},
+ * {@link #getElementos} y {@link #esVacia} primero intentan una lectura
+ * optimista: recorren el árbol sin tomar ningún candado, y al final
+ * verifican que ningún escritor haya entrado mientras tanto. Si entró uno, la
+ * lectura se repite con el candado de lectura. Así, mientras no haya
+ * escritores, los lectores nunca se bloquean entre sí ni escriben en memoria
+ * compartida.</p>
+ *
+ * <p>Las demás consultas toman el candado de lectura, que comparten todos los
+ * lectores. Los iteradores recorren una copia de los elementos tomada con el
+ * candado de lectura, así que nunca ven el árbol a medio modificar ni
+ * bloquean a los escritores mientras se recorren.</p>
+ *
+ * @param <T> El tipo de los elementos del árbol.
+ */
+public class ArbolRojinegroConcurrente<T extends Comparable<T>>
+    implements Coleccion<T> {
+
+    /* Un árbol rojinegro con menos de 2^31 elementos tiene altura menor que
+     * 2·31; una lectura optimista que baja más que esto está viendo al árbol
+     * a medio girar. */
+    private static final int ALTURA_MAXIMA = 64;
+
+    /* Se lanza cuando una lectura optimista baja más de la altura máxima. */
+    private static final RuntimeException LECTURA_INCONSISTENTE =
+        new IllegalStateException("Lectura inconsistente");
+
+    /* Clase interna privada para iteradores sobre una copia. */
+    private class Iterador implements Iterator<T> {
+        /* Los elementos copiados. */
+        private Object[] copia;
+        /* El índice del elemento siguiente. */
+        private int siguiente;
+
+        /* Construye un iterador sobre la copia. */
+        private Iterador(Object[] copia) {
+            this.copia = copia;
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return siguiente < copia.length;
+        }
+
+        /* Nos da el elemento siguiente. */
+        @SuppressWarnings("unchecked") @Override public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return (T)copia[siguiente++];
+        }
+    }
+
+    /* El árbol. */
+    private final ArbolRojinegro<T> arbol;
+    /* El candado. */
+    private final StampedLock candado;
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public ArbolRojinegroConcurrente() {
+        arbol = new ArbolRojinegro<T>();
+        candado = new StampedLock();
+    }
+
+    /**
+     * Construye un árbol rojinegro concurrente a partir de una colección. El
+     * árbol tiene los mismos elementos que la colección recibida.
+     * @param coleccion la colección a partir de la cual creamos el árbol.
+     */
+    public ArbolRojinegroConcurrente(Coleccion<T> coleccion) {
+        arbol = ArbolRojinegro.balanceado(coleccion);
+        candado = new StampedLock();
+    }
+
+    /**
+     * Agrega un nuevo elemento al árbol.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        long sello = candado.writeLock();
+        try {
+            arbol.agrega(elemento);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Agrega todos los elementos del iterable al árbol, tomando el candado de
+     * escritura una sola vez; los lectores ven el árbol antes o después de
+     * agregar todos los elementos. El iterable se copia antes de tomar el
+     * candado.
+     * @param elementos los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es
+     *         <code>null</code>; en ese caso el árbol no se modifica.
+     */
+    @Override public void agregaTodos(Iterable<? extends T> elementos) {
+        Lista<T> copia = new Lista<T>();
+        copia.agregaTodos(elementos);
+        long sello = candado.writeLock();
+        try {
+            arbol.agregaTodos(copia);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Elimina un elemento del árbol. Si el elemento no está en el árbol, el
+     * método no hace nada.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        long sello = candado.writeLock();
+        try {
+            arbol.elimina(elemento);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Elimina del árbol todos los elementos que cumplen la condición, tomando
+     * el candado de escritura una sola vez. La condición se evalúa con el
+     * candado tomado, así que no debe consultar este mismo árbol.
+     * @param condicion la condición que cumplen los elementos a eliminar.
+     * @return el número de elementos eliminados.
+     */
+    @Override public int eliminaSi(Predicate<? super T> condicion) {
+        long sello = candado.writeLock();
+        try {
+            return arbol.eliminaSi(condicion);
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Elimina del árbol todas las apariciones de los elementos que están
+     * contenidos en la colección recibida, tomando el candado de escritura
+     * una sola vez. La colección se copia antes de tomar el candado.
+     * @param coleccion la colección con los elementos a eliminar.
+     * @return el número de elementos eliminados.
+     */
+    @Override public int eliminaTodos(Coleccion<? super T> coleccion) {
+        Lista<Object> copia = copia(coleccion);
+        return eliminaSi(copia::contiene);
+    }
+
+    /**
+     * Elimina del árbol todos los elementos que no están contenidos en la
+     * colección recibida, tomando el candado de escritura una sola vez. La
+     * colección se copia antes de tomar el candado.
+     * @param coleccion la colección con los elementos a conservar.
+     * @return el número de elementos eliminados.
+     */
+    @Override public int retieneTodos(Coleccion<? super T> coleccion) {
+        Lista<Object> copia = copia(coleccion);
+        return eliminaSi(e -> !copia.contiene(e));
+    }
+
+    /* Copia los elementos de la colección en una lista indexada. Recorrer la
+     * colección misma con el candado de escritura tomado puede bloquear para
+     * siempre: si es este mismo árbol, su iterador espera el candado de
+     * lectura; si es otro árbol concurrente que al mismo tiempo recorre a
+     * éste con su propio candado de escritura tomado, cada uno espera al
+     * otro. Por lo mismo agregaTodos copia su iterable. */
+    private static Lista<Object> copia(Coleccion<?> coleccion) {
+        Lista<Object> copia = new Lista<Object>();
+        copia.indexa();
+        copia.agregaTodos(coleccion);
+        return copia;
+    }
+
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        long sello = candado.writeLock();
+        try {
+            arbol.limpia();
+        } finally {
+            candado.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Nos dice si un elemento está en el árbol. La búsqueda es optimista.
+     * @param elemento el elemento que queremos comprobar si está en el árbol.
+     * @return <code>true</code> si el elemento está en el árbol;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return busca(elemento) != null;
+    }
+
+    /**
+     * Busca un elemento en el árbol y regresa el elemento del árbol igual a
+     * él. La búsqueda es optimista.
+     * @param elemento el elemento a buscar.
+     * @return el elemento del árbol igual a <code>elemento</code>, o
+     *         <code>null</code> si no hay ninguno.
+     */
+    public T busca(T elemento) {
+        if (elemento == null)
+            return null;
+        return leeOptimista(() -> buscaEnArbol(elemento));
+    }
+
+    /**
+     * Nos dice si el árbol es vacío. La consulta es optimista.
+     * @return <code>true</code> si el árbol es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return leeOptimista(() -> arbol.esVacia());
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol. La consulta es optimista.
+     * @return el número de elementos en el árbol.
+     */
+    @Override public int getElementos() {
+        return leeOptimista(() -> arbol.getElementos());
+    }
+
+    /**
+     * Regresa la altura del árbol.
+     * @return la altura del árbol.
+     */
+    public int altura() {
+        return lee(() -> arbol.altura());
+    }
+
+    /**
+     * Regresa el elemento mínimo del árbol.
+     * @return el elemento mínimo del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T getPrimero() {
+        return lee(() -> arbol.getPrimero());
+    }
+
+    /**
+     * Regresa el elemento máximo del árbol.
+     * @return el elemento máximo del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T getUltimo() {
+        return lee(() -> arbol.getUltimo());
+    }
+
+    /**
+     * Regresa el mayor elemento del árbol que es menor o igual que el elemento
+     * recibido.
+     * @param elemento el elemento con el que se compara.
+     * @return el mayor elemento del árbol menor o igual que
+     *         <code>elemento</code>, o <code>null</code> si no hay ninguno.
+     */
+    public T piso(T elemento) {
+        return lee(() -> arbol.piso(elemento));
+    }
+
+    /**
+     * Regresa el menor elemento del árbol que es mayor o igual que el elemento
+     * recibido.
+     * @param elemento el elemento con el que se compara.
+     * @return el menor elemento del árbol mayor o igual que
+     *         <code>elemento</code>, o <code>null</code> si no hay ninguno.
+     */
+    public T techo(T elemento) {
+        return lee(() -> arbol.techo(elemento));
+    }
+
+    /**
+     * Regresa el <em>k</em>-ésimo elemento del árbol en orden, empezando en
+     * cero.
+     * @param k el índice en orden del elemento que queremos.
+     * @return el <em>k</em>-ésimo elemento del árbol en orden.
+     * @throws ExcepcionIndiceInvalido si <em>k</em> es menor que cero o mayor o
+     *         igual que el número de elementos en el árbol.
+     */
+    public T selecciona(int k) {
+        return lee(() -> arbol.selecciona(k));
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol estrictamente menores que el
+     * elemento recibido.
+     * @param elemento el elemento con el que se compara.
+     * @return el número de elementos en el árbol menores que
+     *         <code>elemento</code>.
+     */
+    public int cuentaMenores(T elemento) {
+        return lee(() -> arbol.cuentaMenores(elemento));
+    }
+
+    /**
+     * Regresa un iterador para recorrer los elementos del árbol en orden. El
+     * iterador recorre una copia de los elementos que había cuando se creó,
+     * así que no ve las modificaciones posteriores.
+     * @return un iterador para recorrer los elementos del árbol en orden.
+     */
+    @Override public Iterator<T> iterator() {
+        Object[] copia = lee(() -> {
+                Object[] a = new Object[arbol.getElementos()];
+                int i = 0;
+                for (T e : arbol)
+                    a[i++] = e;
+                return a;
+            });
+        return new Iterador(copia);
+    }
+
+    /**
+     * Regresa una representación en cadena del árbol.
+     * @return una representación en cadena del árbol.
+     */
+    @Override public String toString() {
+        return lee(() -> arbol.toString());
+    }
+
+    /* Busca el elemento en el árbol, bajando a lo más ALTURA_MAXIMA
+     * vértices. */
+    private T buscaEnArbol(T elemento) {
+        ArbolBinario<T>.Vertice v = arbol.raiz;
+        for (int i = 0; v != null; i++) {
+            if (i > ALTURA_MAXIMA)
+                throw LECTURA_INCONSISTENTE;
+            int c = elemento.compareTo(v.elemento);
+            if (c == 0)
+                return v.elemento;
+            v = c < 0 ? v.izquierdo : v.derecho;
+        }
+        return null;
+    }
+
+    /* Hace la lectura de forma optimista; si un escritor entró mientras
+     * tanto, o la lectura vio al árbol inconsistente y lanzó una excepción,
+     * la repite con el candado de lectura. */
+    private <R> R leeOptimista(Supplier<R> lectura) {
+        long sello = candado.tryOptimisticRead();
+        if (sello != 0) {
+            try {
+                R r = lectura.get();
+                if (candado.validate(sello))
+                    return r;
+            } catch (RuntimeException re) {
+                /* Si la excepción no se debió a un escritor, la lectura con
+                 * candado la lanzará de nuevo. */
+            }
+        }
+        return lee(lectura);
+    }
+
+    /* Hace la lectura con el candado de lectura. */
+    private <R> R lee(Supplier<R> lectura) {
+        long sello = candado.readLock();
+        try {
+            return lectura.get();
+        } finally {
+            candado.unlockRead(sello);
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para árboles rojinegros persistentes.</p>
+ *
+ * <p>Un árbol persistente es inmutable: {@link #agrega} y {@link #elimina} no
+ * modifican al árbol, sino que regresan una nueva versión con el cambio.
+ * La nueva versión copia nada más los vértices en el camino de la raíz al
+ * vértice modificado (y los que toquen los giros para rebalancear), que son
+ * <em>O</em>(log <em>n</em>), y comparte con la versión anterior todos los
+ * demás subárboles. Así, guardar una instantánea del árbol es de tiempo
+ * constante (basta guardar la referencia a la versión), y como ninguna
+ * versión cambia nunca, cualquier número de hebras puede leerla sin candados
+ * mientras otras crean versiones nuevas; para compartir la versión más
+ * reciente basta publicarla en una variable <code>volatile</code> o en un
+ * {@link java.util.concurrent.atomic.AtomicReference}.</p>
+ *
+ * <p>Los árboles son rojinegros inclinados a la izquierda (los vértices rojos
+ * siempre son hijos izquierdos), así que su altura es a lo más 2 log
+ * <em>n</em>. Como en {@link ArbolRojinegro}, los árboles aceptan elementos
+ * repetidos, y cada vértice guarda el número de vértices en su subárbol para
+ * consultar estadísticos de orden en tiempo logarítmico.</p>
+ *
+ * @param <T> El tipo de los elementos del árbol.
+ */
+public class ArbolRojinegroPersistente<T extends Comparable<T>>
+    implements Iterable<T> {
+
+    /* Clase estática privada para vértices inmutables. Es estática para que
+     * los vértices no guarden una referencia a la versión del árbol que los
+     * creó, ya que los comparten varias versiones. */
+    private static class Vertice<T> {
+        /* El elemento del vértice. */
+        private final T elemento;
+        /* El hijo izquierdo del vértice. */
+        private final Vertice<T> izquierdo;
+        /* El hijo derecho del vértice. */
+        private final Vertice<T> derecho;
+        /* El color del vértice: true si es ROJO, false si es NEGRO. */
+        private final boolean rojo;
+        /* El peso del vértice: el número de vértices en su subárbol. */
+        private final int peso;
+
+        /* Construye un vértice con su elemento, hijos y color. */
+        private Vertice(T elemento, Vertice<T> izquierdo, Vertice<T> derecho,
+                        boolean rojo) {
+            this.elemento = elemento;
+            this.izquierdo = izquierdo;
+            this.derecho = derecho;
+            this.rojo = rojo;
+            this.peso = 1 + peso(izquierdo) + peso(derecho);
+        }
+    }
+
+    /* Clase interna privada para iteradores en orden. */
+    private class Iterador implements Iterator<T> {
+        /* Los vértices cuyo elemento y subárbol derecho faltan por recorrer. */
+        private Pila<Vertice<T>> pila;
+
+        /* Construye un iterador que empieza en el mínimo. */
+        private Iterador() {
+            pila = new Pila<Vertice<T>>();
+            bajaIzquierda(raiz);
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return !pila.esVacia();
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Vertice<T> v = pila.saca();
+            bajaIzquierda(v.derecho);
+            return v.elemento;
+        }
+
+        /* Mete a la pila el vértice y todos sus descendientes izquierdos. */
+        private void bajaIzquierda(Vertice<T> v) {
+            for (; v != null; v = v.izquierdo)
+                pila.mete(v);
+        }
+    }
+
+    /* La raíz del árbol. */
+    private final Vertice<T> raiz;
+
+    /**
+     * Construye un árbol vacío.
+     */
+    public ArbolRojinegroPersistente() {
+        this((Vertice<T>)null);
+    }
+
+    /**
+     * Construye un árbol con los elementos de la colección recibida.
+     * @param coleccion la colección a partir de la cual creamos el árbol.
+     */
+    public ArbolRojinegroPersistente(Coleccion<T> coleccion) {
+        Vertice<T> r = null;
+        for (T e : coleccion)
+            r = negro(agrega(r, e));
+        raiz = r;
+    }
+
+    /* Construye una versión del árbol con la raíz recibida. */
+    private ArbolRojinegroPersistente(Vertice<T> raiz) {
+        this.raiz = raiz;
+    }
+
+    /**
+     * Regresa una nueva versión del árbol con el elemento agregado. El árbol
+     * que manda llamar el método no cambia.
+     * @param elemento el elemento a agregar.
+     * @return una nueva versión del árbol con el elemento agregado.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public ArbolRojinegroPersistente<T> agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        return new ArbolRojinegroPersistente<T>(negro(agrega(raiz, elemento)));
+    }
+
+    /**
+     * Regresa una nueva versión del árbol sin una aparición del elemento (la
+     * primera en orden, si está repetido). El árbol que manda llamar el
+     * método no cambia. Si el elemento no está en el árbol, el método regresa
+     * el mismo árbol.
+     * @param elemento el elemento a eliminar.
+     * @return una nueva versión del árbol sin una aparición del elemento.
+     */
+    public ArbolRojinegroPersistente<T> elimina(T elemento) {
+        if (!contiene(elemento))
+            return this;
+        Vertice<T> r = raiz;
+        if (!esRojo(r.izquierdo) && !esRojo(r.derecho))
+            r = conColor(r, true);
+        int k = cuentaMenores(elemento);
+        return new ArbolRojinegroPersistente<T>(negro(elimina(r, k)));
+    }
+
+    /**
+     * Nos dice si un elemento está en el árbol.
+     * @param elemento el elemento que queremos comprobar si está en el árbol.
+     * @return <code>true</code> si el elemento está en el árbol;
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+        if (elemento == null)
+            return false;
+        Vertice<T> v = raiz;
+        while (v != null) {
+            int c = elemento.compareTo(v.elemento);
+            if (c == 0)
+                return true;
+            v = c < 0 ? v.izquierdo : v.derecho;
+        }
+        return false;
+    }
+
+    /**
+     * Nos dice si el árbol es vacío.
+     * @return <code>true</code> si el árbol es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return raiz == null;
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol. El método es de tiempo
+     * constante.
+     * @return el número de elementos en el árbol.
+     */
+    public int getElementos() {
+        return peso(raiz);
+    }
+
+    /**
+     * Regresa la altura del árbol: -1 si es vacío.
+     * @return la altura del árbol.
+     */
+    public int altura() {
+        return altura(raiz);
+    }
+
+    /**
+     * Regresa el elemento mínimo del árbol.
+     * @return el elemento mínimo del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T getPrimero() {
+        if (esVacia())
+            throw new NoSuchElementException();
+        return minimo(raiz).elemento;
+    }
+
+    /**
+     * Regresa el elemento máximo del árbol.
+     * @return el elemento máximo del árbol.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T getUltimo() {
+        if (esVacia())
+            throw new NoSuchElementException();
+        Vertice<T> v = raiz;
+        while (v.derecho != null)
+            v = v.derecho;
+        return v.elemento;
+    }
+
+    /**
+     * Regresa el <em>k</em>-ésimo elemento del árbol en orden, empezando en
+     * cero. El método es de tiempo logarítmico.
+     * @param k el índice en orden del elemento que queremos.
+     * @return el <em>k</em>-ésimo elemento del árbol en orden.
+     * @throws ExcepcionIndiceInvalido si <em>k</em> es menor que cero o mayor o
+     *         igual que el número de elementos en el árbol.
+     */
+    public T selecciona(int k) {
+        if (k < 0 || k >= getElementos())
+            throw new ExcepcionIndiceInvalido();
+        Vertice<T> v = raiz;
+        while (true) {
+            int i = peso(v.izquierdo);
+            if (k == i)
+                return v.elemento;
+            if (k < i) {
+                v = v.izquierdo;
+            } else {
+                k -= i + 1;
+                v = v.derecho;
+            }
+        }
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol estrictamente menores que el
+     * elemento recibido. El método es de tiempo logarítmico.
+     * @param elemento el elemento con el que se compara.
+     * @return el número de elementos en el árbol menores que
+     *         <code>elemento</code>.
+     */
+    public int cuentaMenores(T elemento) {
+        int r = 0;
+        Vertice<T> v = raiz;
+        while (v != null) {
+            if (elemento.compareTo(v.elemento) <= 0) {
+                v = v.izquierdo;
+            } else {
+                r += peso(v.izquierdo) + 1;
+                v = v.derecho;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Regresa un iterador para recorrer los elementos del árbol en orden.
+     * @return un iterador para recorrer los elementos del árbol en orden.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa una representación en cadena del árbol: sus elementos en orden,
+     * separados por comas.
+     * @return una representación en cadena del árbol.
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        String separador = "";
+        for (T e : this) {
+            sb.append(separador).append(e);
+            separador = ", ";
+        }
+        return sb.append("]").toString();
+    }
+
+    /* Regresa el peso del vértice, o 0 si es null. */
+    private static <T> int peso(Vertice<T> v) {
+        return v == null ? 0 : v.peso;
+    }
+
+    /* Nos dice si el vértice es rojo; los null son negros. */
+    private static <T> boolean esRojo(Vertice<T> v) {
+        return v != null && v.rojo;
+    }
+
+    /* Regresa la altura del subárbol del vértice. */
+    private static <T> int altura(Vertice<T> v) {
+        if (v == null)
+            return -1;
+        return 1 + Math.max(altura(v.izquierdo), altura(v.derecho));
+    }
+
+    /* Regresa el vértice mínimo del subárbol. */
+    private static <T> Vertice<T> minimo(Vertice<T> v) {
+        while (v.izquierdo != null)
+            v = v.izquierdo;
+        return v;
+    }
+
+    /* Regresa una copia del vértice con el color recibido. */
+    private static <T> Vertice<T> conColor(Vertice<T> v, boolean rojo) {
+        if (v.rojo == rojo)
+            return v;
+        return new Vertice<T>(v.elemento, v.izquierdo, v.derecho, rojo);
+    }
+
+    /* Regresa el vértice pintado de negro, o null si es null. */
+    private static <T> Vertice<T> negro(Vertice<T> v) {
+        return v == null ? null : conColor(v, false);
+    }
+
+    /* Regresa una copia del vértice con el hijo izquierdo recibido. */
+    private static <T> Vertice<T> conIzquierdo(Vertice<T> v, Vertice<T> i) {
+        return new Vertice<T>(v.elemento, i, v.derecho, v.rojo);
+    }
+
+    /* Regresa una copia del vértice con el hijo derecho recibido. */
+    private static <T> Vertice<T> conDerecho(Vertice<T> v, Vertice<T> d) {
+        return new Vertice<T>(v.elemento, v.izquierdo, d, v.rojo);
+    }
+
+    /* Gira a la izquierda sobre v; el hijo derecho sube con el color de v, y
+     * v queda rojo. */
+    private static <T> Vertice<T> giraIzquierda(Vertice<T> v) {
+        Vertice<T> d = v.derecho;
+        Vertice<T> q = new Vertice<T>(v.elemento, v.izquierdo, d.izquierdo,
+                                      true);
+        return new Vertice<T>(d.elemento, q, d.derecho, v.rojo);
+    }
+
+    /* Gira a la derecha sobre v; el hijo izquierdo sube con el color de v, y
+     * v queda rojo. */
+    private static <T> Vertice<T> giraDerecha(Vertice<T> v) {
+        Vertice<T> i = v.izquierdo;
+        Vertice<T> q = new Vertice<T>(v.elemento, i.derecho, v.derecho, true);
+        return new Vertice<T>(i.elemento, i.izquierdo, q, v.rojo);
+    }
+
+    /* Invierte los colores de v y sus dos hijos. */
+    private static <T> Vertice<T> invierteColores(Vertice<T> v) {
+        Vertice<T> i = conColor(v.izquierdo, !v.izquierdo.rojo);
+        Vertice<T> d = conColor(v.derecho, !v.derecho.rojo);
+        return new Vertice<T>(v.elemento, i, d, !v.rojo);
+    }
+
+    /* Restablece las propiedades del árbol inclinado a la izquierda en v,
+     * de regreso hacia la raíz. */
+    private static <T> Vertice<T> balancea(Vertice<T> v) {
+        if (esRojo(v.derecho) && !esRojo(v.izquierdo))
+            v = giraIzquierda(v);
+        if (esRojo(v.izquierdo) && esRojo(v.izquierdo.izquierdo))
+            v = giraDerecha(v);
+        if (esRojo(v.izquierdo) && esRojo(v.derecho))
+            v = invierteColores(v);
+        return v;
+    }
+
+    /* Regresa el subárbol de v con el elemento agregado. Los repetidos van a
+     * la derecha. */
+    private static <T extends Comparable<T>>
+    Vertice<T> agrega(Vertice<T> v, T elemento) {
+        if (v == null)
+            return new Vertice<T>(elemento, null, null, true);
+        if (elemento.compareTo(v.elemento) < 0)
+            v = conIzquierdo(v, agrega(v.izquierdo, elemento));
+        else
+            v = conDerecho(v, agrega(v.derecho, elemento));
+        return balancea(v);
+    }
+
+    /* Suponiendo que v es rojo y sus hijos negros, hace rojo al hijo
+     * izquierdo o a uno de sus hijos. */
+    private static <T> Vertice<T> mueveRojoIzquierda(Vertice<T> v) {
+        v = invierteColores(v);
+        if (esRojo(v.derecho.izquierdo)) {
+            v = conDerecho(v, giraDerecha(v.derecho));
+            v = invierteColores(giraIzquierda(v));
+        }
+        return v;
+    }
+
+    /* Suponiendo que v es rojo y sus hijos negros, hace rojo al hijo derecho
+     * o a uno de sus hijos. */
+    private static <T> Vertice<T> mueveRojoDerecha(Vertice<T> v) {
+        v = invierteColores(v);
+        if (esRojo(v.izquierdo.izquierdo))
+            v = invierteColores(giraDerecha(v));
+        return v;
+    }
+
+    /* Regresa el subárbol de v sin su mínimo. */
+    private static <T> Vertice<T> eliminaMinimo(Vertice<T> v) {
+        if (v.izquierdo == null)
+            return null;
+        if (!esRojo(v.izquierdo) && !esRojo(v.izquierdo.izquierdo))
+            v = mueveRojoIzquierda(v);
+        return balancea(conIzquierdo(v, eliminaMinimo(v.izquierdo)));
+    }
+
+    /* Regresa el subárbol de v sin el elemento con índice en orden k dentro
+     * del subárbol. Al bajar se mantiene rojo al vértice actual o a su hijo
+     * en la dirección de la búsqueda, para que el vértice que se quite no sea
+     * negro. Se busca por índice y no comparando elementos porque con
+     * repetidos un giro puede subir a un elemento igual al que se busca, y
+     * entonces se quitaría un vértice distinto al que se preparó. */
+    private static <T> Vertice<T> elimina(Vertice<T> v, int k) {
+        if (k < peso(v.izquierdo)) {
+            if (!esRojo(v.izquierdo) && !esRojo(v.izquierdo.izquierdo))
+                v = mueveRojoIzquierda(v);
+            return balancea(conIzquierdo(v, elimina(v.izquierdo, k)));
+        }
+        if (esRojo(v.izquierdo))
+            v = giraDerecha(v);
+        if (k == peso(v.izquierdo) && v.derecho == null)
+            return null;
+        if (!esRojo(v.derecho) && !esRojo(v.derecho.izquierdo))
+            v = mueveRojoDerecha(v);
+        int i = peso(v.izquierdo);
+        if (k == i) {
+            /* El sucesor toma el lugar de v. */
+            Vertice<T> s = minimo(v.derecho);
+            v = new Vertice<T>(s.elemento, v.izquierdo,
+                               eliminaMinimo(v.derecho), v.rojo);
+        } else {
+            v = conDerecho(v, elimina(v.derecho, k - i - 1));
+        }
+        return balancea(v);
+    }
+}
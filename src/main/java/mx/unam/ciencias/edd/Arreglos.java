@@ -1,17 +1,529 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
- * Clase para ordenar y buscar arreglos genéricos.
+ * Clase para ordenar y buscar arreglos genéricos, y arreglos de enteros,
+ * enteros largos y dobles sin envolver sus elementos.
  */
 public class Arreglos {
 
+    /* Tamaño debajo del cual QuickSort ordena por inserción. */
+    private static final int UMBRAL_INSERCION = 16;
+    /* Tamaño a partir del cual QuickSort usa la pseudomediana de nueve. */
+    private static final int UMBRAL_NOVENA = 128;
+    /* Tamaño debajo del cual los ordenamientos paralelos son secuenciales. */
+    private static final int UMBRAL_PARALELO = 1 << 13;
+
+    /* Estado de un MergeSort adaptativo, al estilo de TimSort: el arreglo se
+     * recorre detectando corridas ya ordenadas (las descendentes se voltean),
+     * las corridas cortas se extienden con inserción binaria, y las corridas
+     * se mezclan desde una pila que mantiene sus longitudes parecidas a una
+     * sucesión de Fibonacci. Las mezclas galopan cuando una corrida gana
+     * muchas veces seguidas, y todas usan el mismo arreglo temporal. */
+    private static class MergeSortAdaptativo<T> {
+
+        /* Longitud mínima de una corrida. */
+        private static final int MIN_MEZCLA = 32;
+        /* Victorias seguidas antes de empezar a galopar. */
+        private static final int MIN_GALOPE = 7;
+
+        /* El arreglo. */
+        private T[] a;
+        /* El comparador. */
+        private Comparator<T> c;
+        /* El arreglo temporal para las mezclas. */
+        private T[] temporal;
+        /* Victorias seguidas actuales antes de galopar. */
+        private int minGalope;
+        /* Los inicios y longitudes de las corridas pendientes. */
+        private int[] base, longitud;
+        /* El número de corridas pendientes. */
+        private int corridas;
+
+        /* Define el estado inicial del ordenamiento. */
+        public MergeSortAdaptativo(T[] a, Comparator<T> c) {
+            this.a = a;
+            this.c = c;
+            temporal = nuevoArreglo(Math.min(256, a.length / 2));
+            minGalope = MIN_GALOPE;
+            base = new int[64];
+            longitud = new int[64];
+        }
+
+        /* Ordena todo el arreglo. */
+        public void ordena() {
+            int ini = 0, n = a.length;
+            if (n < 2)
+                return;
+            if (n < MIN_MEZCLA) {
+                insercionBinaria(0, n, cuentaCorrida(0, n));
+                return;
+            }
+            int minimo = minCorrida(n);
+            while (n > 0) {
+                int r = cuentaCorrida(ini, ini + n);
+                if (r < minimo) {
+                    int f = Math.min(n, minimo);
+                    insercionBinaria(ini, ini + f, ini + r);
+                    r = f;
+                }
+                base[corridas] = ini;
+                longitud[corridas++] = r;
+                colapsa();
+                ini += r;
+                n -= r;
+            }
+            while (corridas > 1) {
+                int i = corridas - 2;
+                if (i > 0 && longitud[i-1] < longitud[i+1])
+                    i--;
+                mezclaEn(i);
+            }
+        }
+
+        /* Regresa un arreglo nuevo con el tamaño recibido. */
+        @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+            return (T[])new Object[n];
+        }
+
+        /* Regresa la longitud mínima de corrida para n elementos: un número
+         * entre MIN_MEZCLA/2 y MIN_MEZCLA tal que n/minimo es una potencia
+         * de 2 o un poco menos. */
+        private static int minCorrida(int n) {
+            int r = 0;
+            while (n >= MIN_MEZCLA) {
+                r |= n & 1;
+                n >>= 1;
+            }
+            return n + r;
+        }
+
+        /* Regresa la longitud de la corrida que empieza en ini; si es
+         * estrictamente descendente (para no perder estabilidad), la
+         * voltea. */
+        private int cuentaCorrida(int ini, int fin) {
+            int k = ini + 1;
+            if (k == fin)
+                return 1;
+            if (c.compare(a[k++], a[ini]) < 0) {
+                while (k < fin && c.compare(a[k], a[k-1]) < 0)
+                    k++;
+                for (int i = ini, j = k - 1; i < j; i++, j--)
+                    intercambia(a, i, j);
+            } else {
+                while (k < fin && c.compare(a[k], a[k-1]) >= 0)
+                    k++;
+            }
+            return k - ini;
+        }
+
+        /* Ordena [ini, fin) por inserción binaria, sabiendo que [ini, inicio)
+         * ya está ordenado. Los iguales se insertan después, así que es
+         * estable. */
+        private void insercionBinaria(int ini, int fin, int inicio) {
+            for (int i = inicio; i < fin; i++) {
+                T e = a[i];
+                int izq = ini, der = i;
+                while (izq < der) {
+                    int m = (izq + der) >>> 1;
+                    if (c.compare(e, a[m]) < 0)
+                        der = m;
+                    else
+                        izq = m + 1;
+                }
+                System.arraycopy(a, izq, a, izq + 1, i - izq);
+                a[izq] = e;
+            }
+        }
+
+        /* Mezcla corridas de la pila hasta que las longitudes X, Y, Z, W de
+         * las cuatro corridas de arriba cumplan X > Y + Z, Y > Z + W y Z > W
+         * (empezando por abajo), lo que mantiene la pila de altura
+         * logarítmica. */
+        private void colapsa() {
+            while (corridas > 1) {
+                int i = corridas - 2;
+                if ((i > 0 && longitud[i-1] <= longitud[i] + longitud[i+1]) ||
+                    (i > 1 && longitud[i-2] <= longitud[i-1] + longitud[i])) {
+                    if (longitud[i-1] < longitud[i+1])
+                        i--;
+                } else if (longitud[i] > longitud[i+1]) {
+                    break;
+                }
+                mezclaEn(i);
+            }
+        }
+
+        /* Mezcla las corridas i e i+1 de la pila. */
+        private void mezclaEn(int i) {
+            int b1 = base[i], l1 = longitud[i];
+            int b2 = base[i+1], l2 = longitud[i+1];
+            longitud[i] = l1 + l2;
+            if (i == corridas - 3) {
+                base[i+1] = base[i+2];
+                longitud[i+1] = longitud[i+2];
+            }
+            corridas--;
+
+            /* Los elementos de la primera corrida menores o iguales que el
+             * primero de la segunda, y los de la segunda mayores o iguales
+             * que el último de la primera, ya están en su lugar. */
+            int k = galopaDerecha(a[b2], a, b1, l1, 0);
+            b1 += k;
+            l1 -= k;
+            if (l1 == 0)
+                return;
+            l2 = galopaIzquierda(a[b1 + l1 - 1], a, b2, l2, l2 - 1);
+            if (l2 == 0)
+                return;
+
+            if (l1 <= l2)
+                mezclaBaja(b1, l1, b2, l2);
+            else
+                mezclaAlta(b1, l1, b2, l2);
+        }
+
+        /* Regresa el primer índice k en [0, n] tal que e <= t[b+k], buscando
+         * con saltos crecientes a partir de la pista y luego en binario. */
+        private int galopaIzquierda(T e, T[] t, int b, int n, int pista) {
+            int anterior = 0, salto = 1;
+            if (c.compare(e, t[b + pista]) > 0) {
+                int maximo = n - pista;
+                while (salto < maximo &&
+                       c.compare(e, t[b + pista + salto]) > 0) {
+                    anterior = salto;
+                    salto = (salto << 1) + 1;
+                    if (salto <= 0)
+                        salto = maximo;
+                }
+                salto = Math.min(salto, maximo);
+                anterior += pista;
+                salto += pista;
+            } else {
+                int maximo = pista + 1;
+                while (salto < maximo &&
+                       c.compare(e, t[b + pista - salto]) <= 0) {
+                    anterior = salto;
+                    salto = (salto << 1) + 1;
+                    if (salto <= 0)
+                        salto = maximo;
+                }
+                salto = Math.min(salto, maximo);
+                int x = anterior;
+                anterior = pista - salto;
+                salto = pista - x;
+            }
+            anterior++;
+            while (anterior < salto) {
+                int m = anterior + ((salto - anterior) >>> 1);
+                if (c.compare(e, t[b + m]) > 0)
+                    anterior = m + 1;
+                else
+                    salto = m;
+            }
+            return salto;
+        }
+
+        /* Regresa el primer índice k en [0, n] tal que e < t[b+k], buscando
+         * con saltos crecientes a partir de la pista y luego en binario. */
+        private int galopaDerecha(T e, T[] t, int b, int n, int pista) {
+            int anterior = 0, salto = 1;
+            if (c.compare(e, t[b + pista]) < 0) {
+                int maximo = pista + 1;
+                while (salto < maximo &&
+                       c.compare(e, t[b + pista - salto]) < 0) {
+                    anterior = salto;
+                    salto = (salto << 1) + 1;
+                    if (salto <= 0)
+                        salto = maximo;
+                }
+                salto = Math.min(salto, maximo);
+                int x = anterior;
+                anterior = pista - salto;
+                salto = pista - x;
+            } else {
+                int maximo = n - pista;
+                while (salto < maximo &&
+                       c.compare(e, t[b + pista + salto]) >= 0) {
+                    anterior = salto;
+                    salto = (salto << 1) + 1;
+                    if (salto <= 0)
+                        salto = maximo;
+                }
+                salto = Math.min(salto, maximo);
+                anterior += pista;
+                salto += pista;
+            }
+            anterior++;
+            while (anterior < salto) {
+                int m = anterior + ((salto - anterior) >>> 1);
+                if (c.compare(e, t[b + m]) < 0)
+                    salto = m;
+                else
+                    anterior = m + 1;
+            }
+            return salto;
+        }
+
+        /* Regresa el arreglo temporal, creciéndolo si tiene menos de n
+         * lugares. */
+        private T[] temporal(int n) {
+            if (temporal.length < n) {
+                int m = Math.max(n, Math.min(2 * temporal.length,
+                                             a.length / 2));
+                temporal = nuevoArreglo(m);
+            }
+            return temporal;
+        }
+
+        /* Mezcla de izquierda a derecha las corridas [b1, b1+l1) y
+         * [b2, b2+l2), con l1 <= l2, copiando sólo la primera al temporal. */
+        private void mezclaBaja(int b1, int l1, int b2, int l2) {
+            T[] t = temporal(l1);
+            System.arraycopy(a, b1, t, 0, l1);
+            int i = 0, j = b2, k = b1, fin2 = b2 + l2;
+            int g = minGalope;
+
+        externo:
+            while (true) {
+                int gana1 = 0, gana2 = 0;
+                while (true) {
+                    if (c.compare(a[j], t[i]) < 0) {
+                        a[k++] = a[j++];
+                        gana1 = 0;
+                        if (j == fin2)
+                            break externo;
+                        if (++gana2 >= g)
+                            break;
+                    } else {
+                        a[k++] = t[i++];
+                        gana2 = 0;
+                        if (i == l1)
+                            break externo;
+                        if (++gana1 >= g)
+                            break;
+                    }
+                }
+                int n1, n2;
+                do {
+                    n1 = galopaDerecha(a[j], t, i, l1 - i, 0);
+                    System.arraycopy(t, i, a, k, n1);
+                    i += n1;
+                    k += n1;
+                    if (i == l1)
+                        break externo;
+                    a[k++] = a[j++];
+                    if (j == fin2)
+                        break externo;
+                    n2 = galopaIzquierda(t[i], a, j, fin2 - j, 0);
+                    System.arraycopy(a, j, a, k, n2);
+                    j += n2;
+                    k += n2;
+                    if (j == fin2)
+                        break externo;
+                    a[k++] = t[i++];
+                    if (i == l1)
+                        break externo;
+                    g--;
+                } while (n1 >= MIN_GALOPE || n2 >= MIN_GALOPE);
+                g = Math.max(g, 0) + 2;
+            }
+            minGalope = Math.max(g, 1);
+            System.arraycopy(t, i, a, k, l1 - i);
+        }
+
+        /* Mezcla de derecha a izquierda las corridas [b1, b1+l1) y
+         * [b2, b2+l2), con l1 > l2, copiando sólo la segunda al temporal. */
+        private void mezclaAlta(int b1, int l1, int b2, int l2) {
+            T[] t = temporal(l2);
+            System.arraycopy(a, b2, t, 0, l2);
+            int i = b1 + l1 - 1, j = l2 - 1, k = b2 + l2 - 1;
+            int g = minGalope;
+
+        externo:
+            while (true) {
+                int gana1 = 0, gana2 = 0;
+                while (true) {
+                    if (c.compare(t[j], a[i]) < 0) {
+                        a[k--] = a[i--];
+                        gana2 = 0;
+                        if (i < b1)
+                            break externo;
+                        if (++gana1 >= g)
+                            break;
+                    } else {
+                        a[k--] = t[j--];
+                        gana1 = 0;
+                        if (j < 0)
+                            break externo;
+                        if (++gana2 >= g)
+                            break;
+                    }
+                }
+                int n1, n2;
+                do {
+                    n1 = i + 1 - b1 -
+                        galopaDerecha(t[j], a, b1, i + 1 - b1, i - b1);
+                    System.arraycopy(a, i + 1 - n1, a, k + 1 - n1, n1);
+                    i -= n1;
+                    k -= n1;
+                    if (i < b1)
+                        break externo;
+                    a[k--] = t[j--];
+                    if (j < 0)
+                        break externo;
+                    n2 = j + 1 - galopaIzquierda(a[i], t, 0, j + 1, j);
+                    System.arraycopy(t, j + 1 - n2, a, k + 1 - n2, n2);
+                    j -= n2;
+                    k -= n2;
+                    if (j < 0)
+                        break externo;
+                    a[k--] = a[i--];
+                    if (i < b1)
+                        break externo;
+                    g--;
+                } while (n1 >= MIN_GALOPE || n2 >= MIN_GALOPE);
+                g = Math.max(g, 0) + 2;
+            }
+            minGalope = Math.max(g, 1);
+            System.arraycopy(t, 0, a, k - j, j + 1);
+        }
+    }
+
+    /* Tarea para ordenar un subarreglo con QuickSort en paralelo. */
+    @SuppressWarnings("serial")
+    private static class TareaQuickSort<T> extends RecursiveAction {
+
+        /* El arreglo. */
+        private T[] a;
+        /* El comparador. */
+        private Comparator<T> c;
+        /* Los extremos (incluidos) del subarreglo. */
+        private int ini, fin;
+        /* Los niveles que faltan antes de usar HeapSort. */
+        private int profundidad;
+
+        /* Define el estado inicial de la tarea. */
+        public TareaQuickSort(T[] a, Comparator<T> c, int ini, int fin,
+                              int profundidad) {
+            this.a = a;
+            this.c = c;
+            this.ini = ini;
+            this.fin = fin;
+            this.profundidad = profundidad;
+        }
+
+        /* Parte el subarreglo y ordena las dos partes en paralelo. */
+        @Override protected void compute() {
+            if (fin - ini < UMBRAL_PARALELO || profundidad == 0) {
+                quickSort(a, c, ini, fin, profundidad);
+                return;
+            }
+            int p = particiona(a, c, ini, fin);
+            invokeAll(new TareaQuickSort<T>(a, c, ini, p - 1, profundidad - 1),
+                      new TareaQuickSort<T>(a, c, p + 1, fin, profundidad - 1));
+        }
+    }
+
+    /* Tarea para ordenar un subarreglo con MergeSort en paralelo. */
+    @SuppressWarnings("serial")
+    private static class TareaMergeSort<T> extends RecursiveAction {
+
+        /* El arreglo fuente y el arreglo destino. */
+        private T[] fuente, destino;
+        /* El comparador. */
+        private Comparator<T> c;
+        /* El subarreglo [ini, fin). */
+        private int ini, fin;
+
+        /* Define el estado inicial de la tarea. */
+        public TareaMergeSort(T[] fuente, T[] destino, Comparator<T> c,
+                              int ini, int fin) {
+            this.fuente = fuente;
+            this.destino = destino;
+            this.c = c;
+            this.ini = ini;
+            this.fin = fin;
+        }
+
+        /* Ordena las dos mitades en paralelo, y las mezcla en paralelo. */
+        @Override protected void compute() {
+            if (fin - ini < UMBRAL_PARALELO) {
+                mergeSort(fuente, destino, c, ini, fin);
+                return;
+            }
+            int m = (ini + fin) >>> 1;
+            invokeAll(new TareaMergeSort<T>(destino, fuente, c, ini, m),
+                      new TareaMergeSort<T>(destino, fuente, c, m, fin));
+            new TareaMezcla<T>(fuente, destino, c, ini, m, m, fin, ini)
+                .compute();
+        }
+    }
+
+    /* Tarea para mezclar en paralelo dos subarreglos ordenados de la fuente
+     * en el destino. */
+    @SuppressWarnings("serial")
+    private static class TareaMezcla<T> extends RecursiveAction {
+
+        /* El arreglo fuente y el arreglo destino. */
+        private T[] fuente, destino;
+        /* El comparador. */
+        private Comparator<T> c;
+        /* Los subarreglos [i1, f1) y [i2, f2), y el índice k en el destino. */
+        private int i1, f1, i2, f2, k;
+
+        /* Define el estado inicial de la tarea. */
+        public TareaMezcla(T[] fuente, T[] destino, Comparator<T> c,
+                           int i1, int f1, int i2, int f2, int k) {
+            this.fuente = fuente;
+            this.destino = destino;
+            this.c = c;
+            this.i1 = i1;
+            this.f1 = f1;
+            this.i2 = i2;
+            this.f2 = f2;
+            this.k = k;
+        }
+
+        /* Toma el elemento de en medio del subarreglo más largo, busca dónde
+         * le toca en el otro, lo coloca y mezcla los dos lados en paralelo.
+         * Los iguales del primer subarreglo siempre quedan antes, así que la
+         * mezcla es estable. */
+        @Override protected void compute() {
+            int n1 = f1 - i1, n2 = f2 - i2;
+            if (n1 + n2 < UMBRAL_PARALELO) {
+                mezcla(fuente, destino, c, i1, f1, i2, f2, k);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (i1 + f1) >>> 1;
+                m2 = cota(fuente, c, fuente[m1], i2, f2, false);
+            } else {
+                m2 = (i2 + f2) >>> 1;
+                m1 = cota(fuente, c, fuente[m2], i1, f1, true);
+            }
+            int km = k + (m1 - i1) + (m2 - i2);
+            invokeAll(new TareaMezcla<T>(fuente, destino, c,
+                                         i1, m1, i2, m2, k),
+                      new TareaMezcla<T>(fuente, destino, c,
+                                         m1, f1, m2, f2, km));
+        }
+    }
+
     /* Constructor privado para evitar instanciación. */
     private Arreglos() {}
     
     /**
-     * Ordena el arreglo recibido usando QickSort.
+     * Ordena el arreglo recibido usando QickSort. El pivote es la mediana de
+     * tres elementos (o la pseudomediana de nueve en subarreglos grandes), los
+     * subarreglos chicos se ordenan por inserción, y si la recursión se
+     * vuelve demasiado profunda el subarreglo se ordena con HeapSort; así el
+     * tiempo en el peor caso es <em>O</em>(<em>n</em> log <em>n</em>) y la
+     * pila crece a lo más logarítmicamente.
      * @param <T> tipo del que puede ser el arreglo.
      * @param arreglo el arreglo a ordenar.
      * @param comparador el comparador para ordenar el arreglo.
@@ -19,44 +531,130 @@ public class Arreglos {
     public static <T> void
     quickSort(T[] arreglo, Comparator<T> comparador) {
         // Aquí va su código.
-        quickSort(arreglo, comparador, 0, arreglo.length-1);
+        int n = arreglo.length;
+        int profundidad = 2 * (31 - Integer.numberOfLeadingZeros(n | 1));
+        quickSort(arreglo, comparador, 0, n - 1, profundidad);
+    }
 
+    /* Ordena el subarreglo [ini, fin]. Sólo hace recursión sobre la parte más
+     * chica, e itera sobre la más grande. */
+    private static <T> void
+    quickSort(T[] a, Comparator<T> c, int ini, int fin, int profundidad) {
+        while (fin - ini >= UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(a, c, ini, fin);
+                return;
+            }
+            int p = particiona(a, c, ini, fin);
+            if (p - ini < fin - p) {
+                quickSort(a, c, ini, p - 1, profundidad);
+                ini = p + 1;
+            } else {
+                quickSort(a, c, p + 1, fin, profundidad);
+                fin = p - 1;
+            }
+        }
+        insertionSort(a, c, ini, fin);
     }
 
-    private static <T> void quickSort(T[] a, Comparator <T> c, int ini, int fin) {
-        // Aquí va su código
-        if (fin <= ini)
-            return;
+    /* Parte el subarreglo [ini, fin] alrededor del pivote y regresa su índice
+     * final. Los dos índices se detienen en los elementos iguales al pivote,
+     * para que las partes queden parejas aunque haya muchos repetidos. */
+    private static <T> int
+    particiona(T[] a, Comparator<T> c, int ini, int fin) {
+        intercambia(a, ini, pivote(a, c, ini, fin));
+        T pivote = a[ini];
+        int i = ini, j = fin + 1;
+        while (true) {
+            while (c.compare(a[++i], pivote) < 0)
+                if (i == fin)
+                    break;
+            while (c.compare(pivote, a[--j]) < 0)
+                ;
+            if (i >= j)
+                break;
+            intercambia(a, i, j);
+        }
+        intercambia(a, ini, j);
+        return j;
+    }
 
-        int i = ini + 1;
-        int j = fin;
+    /* Regresa el índice del pivote para el subarreglo [ini, fin]: la mediana
+     * del primero, el de en medio y el último, o la mediana de tres de esas
+     * medianas de tres si el subarreglo es grande. */
+    private static <T> int
+    pivote(T[] a, Comparator<T> c, int ini, int fin) {
+        int m = (ini + fin) >>> 1;
+        if (fin - ini < UMBRAL_NOVENA)
+            return mediana(a, c, ini, m, fin);
+        int d = (fin - ini) / 8;
+        return mediana(a, c,
+                       mediana(a, c, ini, ini + d, ini + 2*d),
+                       mediana(a, c, m - d, m, m + d),
+                       mediana(a, c, fin - 2*d, fin - d, fin));
+    }
 
-        while (i < j) {
-            if (c.compare(a[i], a[ini]) <= 0)
-                i++;
+    /* Regresa el índice de la mediana de los tres elementos. */
+    private static <T> int
+    mediana(T[] a, Comparator<T> c, int i, int j, int k) {
+        if (c.compare(a[i], a[j]) < 0) {
+            if (c.compare(a[j], a[k]) < 0)
+                return j;
+            return c.compare(a[i], a[k]) < 0 ? k : i;
+        }
+        if (c.compare(a[k], a[j]) < 0)
+            return j;
+        return c.compare(a[k], a[i]) < 0 ? k : i;
+    }
 
-            else if (c.compare(a[j], a[ini]) > 0)
+    /* Ordena el subarreglo [ini, fin] por inserción. */
+    private static <T> void
+    insertionSort(T[] a, Comparator<T> c, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            T e = a[i];
+            int j = i;
+            while (j > ini && c.compare(e, a[j-1]) < 0) {
+                a[j] = a[j-1];
                 j--;
-
-            else if (c.compare(a[i], a[ini]) > 0 && c.compare(a[j], a[ini]) <= 0) {
-                T temp = a[i];
-                a[i++] = a[j];
-                a[j--] = temp;
             }
+            a[j] = e;
         }
+    }
 
-        if (c.compare(a[i], a[ini]) > 0) {
-            i--;
+    /* Ordena el subarreglo [ini, fin] con HeapSort. */
+    private static <T> void
+    heapSort(T[] a, Comparator<T> c, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n/2 - 1; i >= 0; i--)
+            acomodaAbajo(a, c, ini, i, n);
+        for (int k = n - 1; k > 0; k--) {
+            intercambia(a, ini, ini + k);
+            acomodaAbajo(a, c, ini, 0, k);
         }
+    }
 
-        T temp = a[ini];
-        a[ini] = a[i];
-        a[i] = temp;
-
-        quickSort(a, c, ini, i-1);
-        quickSort(a, c, i+1, fin);
-
+    /* Baja el elemento i del montículo máximo de n elementos que empieza en
+     * ini hasta su lugar. */
+    private static <T> void
+    acomodaAbajo(T[] a, Comparator<T> c, int ini, int i, int n) {
+        T e = a[ini + i];
+        while (2*i + 1 < n) {
+            int h = 2*i + 1;
+            if (h + 1 < n && c.compare(a[ini + h], a[ini + h + 1]) < 0)
+                h++;
+            if (c.compare(e, a[ini + h]) >= 0)
+                break;
+            a[ini + i] = a[ini + h];
+            i = h;
+        }
+        a[ini + i] = e;
+    }
 
+    /* Intercambia dos elementos del arreglo. */
+    private static <T> void intercambia(T[] a, int i, int j) {
+        T t = a[i];
+        a[i] = a[j];
+        a[j] = t;
     }
 
     /**
@@ -69,6 +667,253 @@ public class Arreglos {
         quickSort(arreglo, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena el arreglo recibido usando QuickSort con partición en tres vías
+     * (la variante de Bentley y McIlroy de la bandera holandesa de Dijkstra):
+     * cada partición junta en medio a todos los elementos iguales al pivote, y
+     * la recursión se los salta. Con <em>k</em> valores distintos el tiempo es
+     * <em>O</em>(<em>n</em> log <em>k</em>), así que conviene cuando hay
+     * muchos elementos repetidos. El pivote, el umbral de inserción y el
+     * límite de profundidad son los mismos que los de {@link
+     * #quickSort(Object[],Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void
+    quickSortTresVias(T[] arreglo, Comparator<T> comparador) {
+        int n = arreglo.length;
+        int profundidad = 2 * (31 - Integer.numberOfLeadingZeros(n | 1));
+        quickSortTresVias(arreglo, comparador, 0, n - 1, profundidad);
+    }
+
+    /* Ordena el subarreglo [ini, fin] partiendo en tres vías. */
+    private static <T> void
+    quickSortTresVias(T[] a, Comparator<T> c, int ini, int fin,
+                      int profundidad) {
+        while (fin - ini >= UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(a, c, ini, fin);
+                return;
+            }
+            intercambia(a, ini, pivote(a, c, ini, fin));
+            T pivote = a[ini];
+            /* Los iguales al pivote se acumulan en los extremos, [ini, p] y
+             * [q, fin], mientras i y j parten el resto como en quickSort. */
+            int i = ini, j = fin + 1, p = ini, q = fin + 1;
+            while (true) {
+                while (c.compare(a[++i], pivote) < 0)
+                    if (i == fin)
+                        break;
+                while (c.compare(pivote, a[--j]) < 0)
+                    ;
+                if (i == j && c.compare(a[i], pivote) == 0)
+                    intercambia(a, ++p, i);
+                if (i >= j)
+                    break;
+                intercambia(a, i, j);
+                if (c.compare(a[i], pivote) == 0)
+                    intercambia(a, ++p, i);
+                if (c.compare(a[j], pivote) == 0)
+                    intercambia(a, --q, j);
+            }
+            /* Movemos los iguales de los extremos al centro. */
+            int menores = j, mayores = j + 1;
+            for (int k = ini; k <= p; k++)
+                intercambia(a, k, menores--);
+            for (int k = fin; k >= q; k--)
+                intercambia(a, k, mayores++);
+            menores++;
+            mayores--;
+            if (menores - ini < fin - mayores) {
+                quickSortTresVias(a, c, ini, menores - 1, profundidad);
+                ini = mayores + 1;
+            } else {
+                quickSortTresVias(a, c, mayores + 1, fin, profundidad);
+                fin = menores - 1;
+            }
+        }
+        insertionSort(a, c, ini, fin);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort con partición en tres vías.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #quickSortTresVias(Object[],Comparator)
+     */
+    public static <T extends Comparable<T>> void
+    quickSortTresVias(T[] arreglo) {
+        quickSortTresVias(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando un MergeSort adaptativo y estable, al
+     * estilo de TimSort. El arreglo se recorre buscando corridas que ya están
+     * ordenadas (las estrictamente descendentes se voltean), y las corridas
+     * se mezclan galopando cuando una de ellas gana muchas veces seguidas; así
+     * un arreglo casi ordenado se ordena en tiempo casi lineal, y en el peor
+     * caso el tiempo es <em>O</em>(<em>n</em> log <em>n</em>). Usa un solo
+     * arreglo temporal, de a lo más la mitad del tamaño del arreglo.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     */
+    public static <T> void
+    mergeSort(T[] arreglo, Comparator<T> comparador) {
+        new MergeSortAdaptativo<T>(arreglo, comparador).ordena();
+    }
+
+    /**
+     * Ordena el arreglo recibido usando un MergeSort adaptativo y estable.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #mergeSort(Object[],Comparator)
+     */
+    public static <T extends Comparable<T>> void
+    mergeSort(T[] arreglo) {
+        mergeSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo, con las hebras
+     * de la alberca recibida. Después de cada partición las dos partes se
+     * ordenan como tareas independientes, hasta que son más chicas que un
+     * umbral y se ordenan secuencialmente como en {@link
+     * #quickSort(Object[],Comparator)}. El comparador debe poder usarse desde
+     * varias hebras a la vez.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @param alberca la alberca de hebras que ordena el arreglo.
+     */
+    public static <T> void
+    quickSortParalelo(T[] arreglo, Comparator<T> comparador,
+                      ForkJoinPool alberca) {
+        int n = arreglo.length;
+        int profundidad = 2 * (31 - Integer.numberOfLeadingZeros(n | 1));
+        alberca.invoke(new TareaQuickSort<T>(arreglo, comparador,
+                                             0, n - 1, profundidad));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo, con la alberca
+     * común de hebras.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @see #quickSortParalelo(Object[],Comparator,ForkJoinPool)
+     */
+    public static <T> void
+    quickSortParalelo(T[] arreglo, Comparator<T> comparador) {
+        quickSortParalelo(arreglo, comparador, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort en paralelo, con la alberca
+     * común de hebras.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #quickSortParalelo(Object[],Comparator,ForkJoinPool)
+     */
+    public static <T extends Comparable<T>> void
+    quickSortParalelo(T[] arreglo) {
+        quickSortParalelo(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando MergeSort en paralelo, con las hebras
+     * de la alberca recibida. Las dos mitades se ordenan como tareas
+     * independientes, y también la mezcla se divide en tareas, hasta que son
+     * más chicas que un umbral y se hacen secuencialmente. El ordenamiento es
+     * estable, y usa un arreglo auxiliar del tamaño del arreglo. El comparador
+     * debe poder usarse desde varias hebras a la vez.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @param alberca la alberca de hebras que ordena el arreglo.
+     */
+    public static <T> void
+    mergeSortParalelo(T[] arreglo, Comparator<T> comparador,
+                      ForkJoinPool alberca) {
+        T[] auxiliar = arreglo.clone();
+        alberca.invoke(new TareaMergeSort<T>(auxiliar, arreglo, comparador,
+                                             0, arreglo.length));
+    }
+
+    /**
+     * Ordena el arreglo recibido usando MergeSort en paralelo, con la alberca
+     * común de hebras.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo.
+     * @see #mergeSortParalelo(Object[],Comparator,ForkJoinPool)
+     */
+    public static <T> void
+    mergeSortParalelo(T[] arreglo, Comparator<T> comparador) {
+        mergeSortParalelo(arreglo, comparador, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ordena el arreglo recibido usando MergeSort en paralelo, con la alberca
+     * común de hebras.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     * @see #mergeSortParalelo(Object[],Comparator,ForkJoinPool)
+     */
+    public static <T extends Comparable<T>> void
+    mergeSortParalelo(T[] arreglo) {
+        mergeSortParalelo(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /* Ordena el subarreglo [ini, fin) de la fuente en el destino. Al entrar
+     * los dos arreglos tienen los mismos elementos en el subarreglo; al salir
+     * el subarreglo de la fuente queda revuelto. */
+    private static <T> void
+    mergeSort(T[] fuente, T[] destino, Comparator<T> c, int ini, int fin) {
+        if (fin - ini <= UMBRAL_INSERCION) {
+            insertionSort(destino, c, ini, fin - 1);
+            return;
+        }
+        int m = (ini + fin) >>> 1;
+        mergeSort(destino, fuente, c, ini, m);
+        mergeSort(destino, fuente, c, m, fin);
+        if (c.compare(fuente[m-1], fuente[m]) <= 0) {
+            System.arraycopy(fuente, ini, destino, ini, fin - ini);
+            return;
+        }
+        mezcla(fuente, destino, c, ini, m, m, fin, ini);
+    }
+
+    /* Mezcla los subarreglos ordenados [i1, f1) y [i2, f2) de la fuente en el
+     * destino a partir de k; en los empates gana el primero. */
+    private static <T> void
+    mezcla(T[] fuente, T[] destino, Comparator<T> c,
+           int i1, int f1, int i2, int f2, int k) {
+        while (i1 < f1 && i2 < f2)
+            destino[k++] = c.compare(fuente[i2], fuente[i1]) < 0 ?
+                fuente[i2++] : fuente[i1++];
+        while (i1 < f1)
+            destino[k++] = fuente[i1++];
+        while (i2 < f2)
+            destino[k++] = fuente[i2++];
+    }
+
+    /* Regresa el primer índice en el subarreglo ordenado [ini, fin) cuyo
+     * elemento es mayor que e (si estricto) o mayor o igual que e (si no). */
+    private static <T> int
+    cota(T[] a, Comparator<T> c, T e, int ini, int fin, boolean estricto) {
+        while (ini < fin) {
+            int m = (ini + fin) >>> 1;
+            int r = c.compare(a[m], e);
+            if (r < 0 || (estricto && r == 0))
+                ini = m + 1;
+            else
+                fin = m;
+        }
+        return ini;
+    }
+
     /**
      * Ordena el arreglo recibido usando SelectionSort.
      * @param <T> tipo del que puede ser el arreglo.
@@ -151,4 +996,278 @@ public class Arreglos {
         return busquedaBinaria(arreglo, elemento, (a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena el arreglo de enteros recibido usando QuickSort, sin envolver sus
+     * elementos.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(int[] arreglo) {
+        quickSort(arreglo, 0, arreglo.length - 1);
+    }
+
+    /* Ordena el subarreglo [ini, fin] con QuickSort. Parte alrededor del
+     * elemento de en medio, y sólo hace recursión sobre la parte más chica,
+     * así que la pila crece a lo más logarítmicamente. */
+    private static void quickSort(int[] a, int ini, int fin) {
+        while (ini < fin) {
+            int pivote = a[(ini + fin) >>> 1];
+            int i = ini, j = fin;
+            while (i <= j) {
+                while (a[i] < pivote)
+                    i++;
+                while (pivote < a[j])
+                    j--;
+                if (i <= j)
+                    intercambia(a, i++, j--);
+            }
+            if (j - ini < fin - i) {
+                quickSort(a, ini, j);
+                ini = i;
+            } else {
+                quickSort(a, i, fin);
+                fin = j;
+            }
+        }
+    }
+
+    /**
+     * Ordena el arreglo de enteros recibido usando MergeSort, sin envolver sus
+     * elementos. Usa un único arreglo auxiliar del tamaño del arreglo.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void mergeSort(int[] arreglo) {
+        mergeSort(arreglo, new int[arreglo.length], 0, arreglo.length);
+    }
+
+    /* Ordena el subarreglo [ini, fin) con MergeSort, usando el auxiliar. */
+    private static void mergeSort(int[] a, int[] aux, int ini, int fin) {
+        if (fin - ini < 2)
+            return;
+        int m = (ini + fin) >>> 1;
+        mergeSort(a, aux, ini, m);
+        mergeSort(a, aux, m, fin);
+        if (a[m-1] <= a[m])
+            return;
+        System.arraycopy(a, ini, aux, ini, fin - ini);
+        int i = ini, j = m, k = ini;
+        while (i < m && j < fin)
+            a[k++] = aux[j] < aux[i] ? aux[j++] : aux[i++];
+        while (i < m)
+            a[k++] = aux[i++];
+        while (j < fin)
+            a[k++] = aux[j++];
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado de
+     * enteros. Regresa el índice del elemento en el arreglo, o -1 si no se
+     * encuentra.
+     * @param arreglo el arreglo dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(int[] arreglo, int elemento) {
+        int ini = 0, fin = arreglo.length - 1;
+        while (ini <= fin) {
+            int m = (ini + fin) >>> 1;
+            if (arreglo[m] == elemento)
+                return m;
+            if (arreglo[m] < elemento)
+                ini = m + 1;
+            else
+                fin = m - 1;
+        }
+        return -1;
+    }
+
+    /* Intercambia dos elementos del arreglo. */
+    private static void intercambia(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Ordena el arreglo de enteros largos recibido usando QuickSort, sin
+     * envolver sus elementos.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(long[] arreglo) {
+        quickSort(arreglo, 0, arreglo.length - 1);
+    }
+
+    /* Ordena el subarreglo [ini, fin] con QuickSort. */
+    private static void quickSort(long[] a, int ini, int fin) {
+        while (ini < fin) {
+            long pivote = a[(ini + fin) >>> 1];
+            int i = ini, j = fin;
+            while (i <= j) {
+                while (a[i] < pivote)
+                    i++;
+                while (pivote < a[j])
+                    j--;
+                if (i <= j)
+                    intercambia(a, i++, j--);
+            }
+            if (j - ini < fin - i) {
+                quickSort(a, ini, j);
+                ini = i;
+            } else {
+                quickSort(a, i, fin);
+                fin = j;
+            }
+        }
+    }
+
+    /**
+     * Ordena el arreglo de enteros largos recibido usando MergeSort, sin
+     * envolver sus elementos. Usa un único arreglo auxiliar del tamaño del
+     * arreglo.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void mergeSort(long[] arreglo) {
+        mergeSort(arreglo, new long[arreglo.length], 0, arreglo.length);
+    }
+
+    /* Ordena el subarreglo [ini, fin) con MergeSort. */
+    private static void mergeSort(long[] a, long[] aux, int ini, int fin) {
+        if (fin - ini < 2)
+            return;
+        int m = (ini + fin) >>> 1;
+        mergeSort(a, aux, ini, m);
+        mergeSort(a, aux, m, fin);
+        if (a[m-1] <= a[m])
+            return;
+        System.arraycopy(a, ini, aux, ini, fin - ini);
+        int i = ini, j = m, k = ini;
+        while (i < m && j < fin)
+            a[k++] = aux[j] < aux[i] ? aux[j++] : aux[i++];
+        while (i < m)
+            a[k++] = aux[i++];
+        while (j < fin)
+            a[k++] = aux[j++];
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado de
+     * enteros largos. Regresa el índice del elemento en el arreglo, o -1 si
+     * no se encuentra.
+     * @param arreglo el arreglo dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(long[] arreglo, long elemento) {
+        int ini = 0, fin = arreglo.length - 1;
+        while (ini <= fin) {
+            int m = (ini + fin) >>> 1;
+            if (arreglo[m] == elemento)
+                return m;
+            if (arreglo[m] < elemento)
+                ini = m + 1;
+            else
+                fin = m - 1;
+        }
+        return -1;
+    }
+
+    /* Intercambia dos elementos del arreglo. */
+    private static void intercambia(long[] a, int i, int j) {
+        long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Ordena el arreglo de dobles recibido usando QuickSort, sin envolver sus
+     * elementos. Los elementos se ordenan como lo hace {@link Double#compare}:
+     * -0.0 va antes que 0.0, y los NaN van al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(double[] arreglo) {
+        quickSort(arreglo, 0, arreglo.length - 1);
+    }
+
+    /* Ordena el subarreglo [ini, fin] con QuickSort. */
+    private static void quickSort(double[] a, int ini, int fin) {
+        while (ini < fin) {
+            double pivote = a[(ini + fin) >>> 1];
+            int i = ini, j = fin;
+            while (i <= j) {
+                while (Double.compare(a[i], pivote) < 0)
+                    i++;
+                while (Double.compare(pivote, a[j]) < 0)
+                    j--;
+                if (i <= j)
+                    intercambia(a, i++, j--);
+            }
+            if (j - ini < fin - i) {
+                quickSort(a, ini, j);
+                ini = i;
+            } else {
+                quickSort(a, i, fin);
+                fin = j;
+            }
+        }
+    }
+
+    /**
+     * Ordena el arreglo de dobles recibido usando MergeSort, sin envolver sus
+     * elementos. Usa un único arreglo auxiliar del tamaño del arreglo. Los
+     * elementos se ordenan como lo hace {@link Double#compare}: -0.0 va
+     * antes que 0.0, y los NaN van al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void mergeSort(double[] arreglo) {
+        mergeSort(arreglo, new double[arreglo.length], 0, arreglo.length);
+    }
+
+    /* Ordena el subarreglo [ini, fin) con MergeSort. */
+    private static void mergeSort(double[] a, double[] aux, int ini, int fin) {
+        if (fin - ini < 2)
+            return;
+        int m = (ini + fin) >>> 1;
+        mergeSort(a, aux, ini, m);
+        mergeSort(a, aux, m, fin);
+        if (Double.compare(a[m-1], a[m]) <= 0)
+            return;
+        System.arraycopy(a, ini, aux, ini, fin - ini);
+        int i = ini, j = m, k = ini;
+        while (i < m && j < fin)
+            a[k++] = Double.compare(aux[j], aux[i]) < 0 ? aux[j++] : aux[i++];
+        while (i < m)
+            a[k++] = aux[i++];
+        while (j < fin)
+            a[k++] = aux[j++];
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado de dobles.
+     * Regresa el índice del elemento en el arreglo, o -1 si no se encuentra.
+     * Los elementos se comparan como lo hace {@link Double#compare}, así que
+     * es posible buscar NaN.
+     * @param arreglo el arreglo dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     */
+    public static int busquedaBinaria(double[] arreglo, double elemento) {
+        int ini = 0, fin = arreglo.length - 1;
+        while (ini <= fin) {
+            int m = (ini + fin) >>> 1;
+            int c = Double.compare(arreglo[m], elemento);
+            if (c == 0)
+                return m;
+            if (c < 0)
+                ini = m + 1;
+            else
+                fin = m - 1;
+        }
+        return -1;
+    }
+
+    /* Intercambia dos elementos del arreglo. */
+    private static void intercambia(double[] a, int i, int j) {
+        double t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
 }
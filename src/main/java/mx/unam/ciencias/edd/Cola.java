@@ -11,20 +11,21 @@ public class Cola<T> extends MeteSaca<T> {
      */
     @Override public String toString() {
         // Aquí va su código.
-        String r = "";
+        StringBuilder r = new StringBuilder();
 
         Nodo n = cabeza;
 
         while (n != null) {
-            r = n.elemento + "," + r;
+            r.append(n.elemento).append(",");
             n = n.siguiente;
         }
 
-        return r;
+        return r.toString();
     }
 
     /**
-     * Agrega un elemento al final de la cola.
+     * Agrega un elemento al final de la cola. El final de la cola es el rabo
+     * de la estructura.
      * @param elemento el elemento a agregar.
      * @throws IllegalArgumentException si <code>elemento</code> es
      *         <code>null</code>.
@@ -42,9 +43,7 @@ public class Cola<T> extends MeteSaca<T> {
             return;
         }
 
-        Nodo aux = cabeza;
-
-        n.siguiente = aux;
-        cabeza = n;
+        rabo.siguiente = n;
+        rabo = n;
     }
 }
@@ -0,0 +1,249 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Clase para colas genéricas que pueden compartirse entre varias hebras
+ * productoras y consumidoras.</p>
+ *
+ * <p>La cola es una lista ligada de Michael y Scott: la cabeza es un nodo
+ * centinela cuyo siguiente es el primer elemento, y tanto la cabeza como el
+ * rabo (y el siguiente del último nodo) se actualizan con operaciones
+ * atómicas de comparación e intercambio, sin candados. Una hebra que encuentra
+ * el rabo atrasado lo adelanta antes de seguir, así que ninguna hebra tiene que
+ * esperar a que otra termine su operación.</p>
+ *
+ * <p>Además, la cola lleva la cuenta de sus elementos en un {@link Semaphore}:
+ * cada elemento metido libera un permiso, y cada elemento sacado consume uno
+ * antes de tocar la lista. Así {@link #sacaBloqueando} puede dormir mientras
+ * la cola está vacía, y una hebra que obtuvo un permiso siempre encuentra un
+ * elemento. Las operaciones que no bloquean sólo intentan tomar el permiso,
+ * lo que también es una operación atómica sin candados.</p>
+ *
+ * <p>Las colas no aceptan a <code>null</code> como elemento.</p>
+ *
+ * @param <T> El tipo de los elementos de la cola.
+ */
+public class ColaConcurrente<T> {
+
+    /* Clase estática privada para nodos. */
+    private static class Nodo<T> {
+        /* El elemento del nodo; null en el centinela. */
+        private volatile T elemento;
+        /* El nodo siguiente. */
+        private volatile Nodo<T> siguiente;
+
+        /* Construye un nodo con un elemento. */
+        private Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* Acceso atómico a la cabeza, el rabo y el siguiente de los nodos. */
+    private static final VarHandle CABEZA;
+    private static final VarHandle RABO;
+    private static final VarHandle SIGUIENTE;
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            CABEZA = l.findVarHandle(ColaConcurrente.class, "cabeza",
+                                     Nodo.class);
+            RABO = l.findVarHandle(ColaConcurrente.class, "rabo", Nodo.class);
+            SIGUIENTE = l.findVarHandle(Nodo.class, "siguiente", Nodo.class);
+        } catch (ReflectiveOperationException roe) {
+            throw new ExceptionInInitializerError(roe);
+        }
+    }
+
+    /* El centinela; su siguiente es el primer elemento de la cola. */
+    private volatile Nodo<T> cabeza;
+    /* El último nodo de la cola, o uno antes si otra hebra está metiendo. */
+    private volatile Nodo<T> rabo;
+    /* Un permiso por cada elemento que se puede sacar. */
+    private final Semaphore disponibles;
+
+    /**
+     * Construye una cola vacía.
+     */
+    public ColaConcurrente() {
+        cabeza = rabo = new Nodo<T>(null);
+        disponibles = new Semaphore(0);
+    }
+
+    /**
+     * Agrega un elemento al final de la cola. El método nunca bloquea.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void mete(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+
+        Nodo<T> n = new Nodo<T>(elemento);
+        while (true) {
+            Nodo<T> r = rabo;
+            Nodo<T> s = r.siguiente;
+            if (s == null) {
+                if (SIGUIENTE.compareAndSet(r, null, n)) {
+                    RABO.compareAndSet(this, r, n);
+                    break;
+                }
+            } else {
+                /* El rabo está atrasado; lo adelantamos. */
+                RABO.compareAndSet(this, r, s);
+            }
+        }
+        disponibles.release();
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa. El método nunca
+     * bloquea.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    public T saca() {
+        T r = intentaSacar();
+        if (r == null)
+            throw new NoSuchElementException();
+        return r;
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, o regresa
+     * <code>null</code> si la cola está vacía. El método nunca bloquea.
+     * @return el elemento al inicio de la cola, o <code>null</code> si la cola
+     *         está vacía.
+     */
+    public T intentaSacar() {
+        if (!disponibles.tryAcquire())
+            return null;
+        return sacaConPermiso();
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a lo
+     * más el tiempo recibido a que haya uno.
+     * @param tiempo el tiempo máximo a esperar.
+     * @param unidad la unidad del tiempo.
+     * @return el elemento al inicio de la cola, o <code>null</code> si no hubo
+     *         ninguno en el tiempo recibido.
+     * @throws InterruptedException si la hebra es interrumpida mientras
+     *         espera.
+     */
+    public T intentaSacar(long tiempo, TimeUnit unidad)
+        throws InterruptedException {
+        if (!disponibles.tryAcquire(tiempo, unidad))
+            return null;
+        return sacaConPermiso();
+    }
+
+    /**
+     * Elimina el elemento al inicio de la cola y lo regresa, esperando a que
+     * haya uno si la cola está vacía.
+     * @return el elemento al inicio de la cola.
+     * @throws InterruptedException si la hebra es interrumpida mientras
+     *         espera.
+     */
+    public T sacaBloqueando() throws InterruptedException {
+        disponibles.acquire();
+        return sacaConPermiso();
+    }
+
+    /**
+     * Saca todos los elementos disponibles de la cola y los agrega, en orden,
+     * a la colección recibida. El método nunca bloquea, y toma los permisos de
+     * todos los elementos de una sola vez.
+     * @param destino la colección donde se agregarán los elementos.
+     * @return el número de elementos sacados.
+     */
+    public int drena(Coleccion<? super T> destino) {
+        return drena(destino, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Saca a lo más el número recibido de elementos de la cola y los agrega,
+     * en orden, a la colección recibida. El método nunca bloquea. Si la
+     * colección lanza una excepción al agregar un elemento, ese elemento ya
+     * fue sacado de la cola, pero los siguientes se quedan en ella.
+     * @param destino la colección donde se agregarán los elementos.
+     * @param maximo el número máximo de elementos a sacar.
+     * @return el número de elementos sacados.
+     */
+    public int drena(Coleccion<? super T> destino, int maximo) {
+        int k;
+        do {
+            k = Math.min(disponibles.availablePermits(), maximo);
+        } while (k > 0 && !disponibles.tryAcquire(k));
+        int sacados = 0;
+        try {
+            while (sacados < k) {
+                T e = sacaConPermiso();
+                sacados++;
+                destino.agrega(e);
+            }
+        } finally {
+            /* Devolvemos los permisos de los elementos que no sacamos. */
+            if (sacados < k)
+                disponibles.release(k - sacados);
+        }
+        return Math.max(k, 0);
+    }
+
+    /**
+     * Regresa el elemento al inicio de la cola sin sacarlo. Con otras hebras
+     * sacando elementos al mismo tiempo, el elemento puede ya no estar en la
+     * cola cuando el método regrese.
+     * @return el elemento al inicio de la cola.
+     * @throws NoSuchElementException si la cola está vacía.
+     */
+    public T mira() {
+        while (true) {
+            Nodo<T> s = cabeza.siguiente;
+            if (s == null)
+                throw new NoSuchElementException();
+            T r = s.elemento;
+            if (r != null)
+                return r;
+            /* Otra hebra sacó el elemento; s es ya el centinela. */
+        }
+    }
+
+    /**
+     * Nos dice si la cola está vacía. Con otras hebras usando la cola al
+     * mismo tiempo, la respuesta puede dejar de ser cierta cuando el método
+     * regrese.
+     * @return <code>true</code> si la cola no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return disponibles.availablePermits() == 0;
+    }
+
+    /* Saca el primer elemento de la lista; la hebra ya tiene un permiso, así
+     * que hay por lo menos un elemento ligado que nadie más va a sacar. */
+    private T sacaConPermiso() {
+        while (true) {
+            Nodo<T> c = cabeza;
+            Nodo<T> r = rabo;
+            Nodo<T> s = c.siguiente;
+            if (s == null) {
+                /* La cabeza que leímos ya no es la actual. */
+                continue;
+            } else if (c == r) {
+                /* El rabo está atrasado; lo adelantamos. */
+                RABO.compareAndSet(this, r, s);
+            } else if (CABEZA.compareAndSet(this, c, s)) {
+                /* s es el nuevo centinela. */
+                T e = s.elemento;
+                s.elemento = null;
+                return e;
+            }
+        }
+    }
+}
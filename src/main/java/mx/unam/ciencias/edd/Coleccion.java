@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd;
 
+import java.util.function.Predicate;
+
 /**
  * <p>Interface para colecciones, con operaciones para agregar y eliminar
  * elementos, y consultar si un elemento está contenido, así como para obtener
@@ -20,12 +22,66 @@ public interface Coleccion<T> extends Iterable<T> {
      */
     public void agrega(T elemento);
 
+    /**
+     * Agrega todos los elementos del iterable a la colección, en el orden en
+     * que el iterable los regresa. La implementación por omisión invoca a
+     * {@link #agrega} con cada elemento; las clases que puedan agregar muchos
+     * elementos de una sola vez deben sobrecargarla.
+     * @param elementos los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es
+     *         <code>null</code>; los elementos anteriores a él pueden haber
+     *         sido agregados.
+     */
+    public default void agregaTodos(Iterable<? extends T> elementos) {
+        for (T e : elementos)
+            agrega(e);
+    }
+
     /**
      * Elimina un elemento de la colección.
      * @param elemento el elemento a eliminar.
      */
     public void elimina(T elemento);
 
+    /**
+     * Elimina de la colección todos los elementos que cumplen la condición.
+     * La implementación por omisión primero recorre la colección guardando
+     * en una lista los elementos a eliminar, y después invoca a {@link
+     * #elimina} con cada uno; las clases que puedan eliminar muchos elementos
+     * de una sola vez deben sobrecargarla.
+     * @param condicion la condición que cumplen los elementos a eliminar.
+     * @return el número de elementos eliminados.
+     */
+    public default int eliminaSi(Predicate<? super T> condicion) {
+        Lista<T> eliminados = new Lista<T>();
+        for (T e : this)
+            if (condicion.test(e))
+                eliminados.agrega(e);
+        for (T e : eliminados)
+            elimina(e);
+        return eliminados.getLongitud();
+    }
+
+    /**
+     * Elimina de la colección todas las apariciones de los elementos que
+     * están contenidos en la colección recibida.
+     * @param coleccion la colección con los elementos a eliminar.
+     * @return el número de elementos eliminados.
+     */
+    public default int eliminaTodos(Coleccion<? super T> coleccion) {
+        return eliminaSi(coleccion::contiene);
+    }
+
+    /**
+     * Elimina de la colección todos los elementos que no están contenidos en
+     * la colección recibida.
+     * @param coleccion la colección con los elementos a conservar.
+     * @return el número de elementos eliminados.
+     */
+    public default int retieneTodos(Coleccion<? super T> coleccion) {
+        return eliminaSi(e -> !coleccion.contiene(e));
+    }
+
     /**
      * Nos dice si un elemento está contenido en la colección.
      * @param elemento el elemento que queremos verificar si está contenido en
@@ -0,0 +1,424 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * <p>Clase para árboles rojinegros de enteros primitivos.</p>
+ *
+ * <p>El árbol tiene la misma semántica que un {@link ArbolRojinegro} de
+ * {@link Integer}: acepta elementos repetidos, y agregar, eliminar y buscar
+ * son de tiempo logarítmico. Pero en lugar de un objeto por vértice (con su
+ * encabezado, sus referencias y el {@link Integer} que envuelve al elemento),
+ * los vértices son índices en arreglos paralelos de primitivos: uno para los
+ * elementos, tres para el padre y los hijos, y uno para los colores. Así cada
+ * vértice ocupa 17 bytes, y agregar elementos no crea objetos mientras no sea
+ * necesario crecer los arreglos.</p>
+ *
+ * <p>El índice 0 es un vértice centinela negro que hace las veces de todas las
+ * hojas <code>null</code>. Los índices de los vértices eliminados se guardan
+ * en una lista de libres (encadenada a través de los hijos izquierdos) para
+ * reutilizarse en las siguientes inserciones.</p>
+ */
+public class IntArbolRojinegro {
+
+    /* El vértice centinela. */
+    private static final int NADA = 0;
+    /* La capacidad inicial de los arreglos. */
+    private static final int CAPACIDAD_INICIAL = 16;
+    /* La longitud máxima de los arreglos; algunas máquinas virtuales no
+     * permiten arreglos más grandes. */
+    private static final int LONGITUD_MAXIMA = Integer.MAX_VALUE - 8;
+    /* La capacidad máxima del árbol; el índice 0 es del centinela. */
+    private static final int CAPACIDAD_MAXIMA = LONGITUD_MAXIMA - 1;
+
+    /* Los elementos de los vértices. */
+    private int[] elemento;
+    /* Los padres de los vértices. */
+    private int[] padre;
+    /* Los hijos izquierdos de los vértices. */
+    private int[] izquierdo;
+    /* Los hijos derechos de los vértices. */
+    private int[] derecho;
+    /* Los colores de los vértices: true si es ROJO, false si es NEGRO. */
+    private boolean[] rojo;
+
+    /* La raíz del árbol. */
+    private int raiz;
+    /* El número de elementos en el árbol. */
+    private int elementos;
+    /* El siguiente índice que nunca se ha usado. */
+    private int siguiente;
+    /* La cabeza de la lista de índices libres. */
+    private int libres;
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public IntArbolRojinegro() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Construye un árbol vacío con espacio para el número de elementos
+     * recibido antes de tener que crecer sus arreglos.
+     * @param capacidad el número de elementos que caben en el árbol sin
+     *        crecer sus arreglos.
+     * @throws IllegalArgumentException si la capacidad es negativa o mayor
+     *         que el número máximo de elementos que caben en el árbol.
+     */
+    public IntArbolRojinegro(int capacidad) {
+        if (capacidad < 0 || capacidad > CAPACIDAD_MAXIMA)
+            throw new IllegalArgumentException("Capacidad inválida: " +
+                                               capacidad);
+        int n = capacidad + 1;
+        elemento = new int[n];
+        padre = new int[n];
+        izquierdo = new int[n];
+        derecho = new int[n];
+        rojo = new boolean[n];
+        limpia();
+    }
+
+    /**
+     * Agrega un nuevo elemento al árbol.
+     * @param e el elemento a agregar.
+     * @throws IllegalStateException si el árbol ya tiene el número máximo de
+     *         elementos que caben en él.
+     */
+    public void agrega(int e) {
+        int v = nuevoVertice(e);
+        int p = NADA;
+        int a = raiz;
+
+        while (a != NADA) {
+            p = a;
+            a = e < elemento[a] ? izquierdo[a] : derecho[a];
+        }
+
+        padre[v] = p;
+        if (p == NADA)
+            raiz = v;
+        else if (e < elemento[p])
+            izquierdo[p] = v;
+        else
+            derecho[p] = v;
+
+        elementos++;
+        rebalanceaAgregar(v);
+    }
+
+    /**
+     * Elimina una aparición del elemento del árbol. Si el elemento no está en
+     * el árbol, el método no hace nada.
+     * @param e el elemento a eliminar.
+     */
+    public void elimina(int e) {
+        int v = busca(e);
+        if (v == NADA)
+            return;
+
+        int y = v;
+        boolean eraRojo = rojo[y];
+        int x;
+
+        if (izquierdo[v] == NADA) {
+            x = derecho[v];
+            sustituye(v, x);
+        } else if (derecho[v] == NADA) {
+            x = izquierdo[v];
+            sustituye(v, x);
+        } else {
+            y = minimo(derecho[v]);
+            eraRojo = rojo[y];
+            x = derecho[y];
+            if (padre[y] == v) {
+                padre[x] = y;
+            } else {
+                sustituye(y, x);
+                derecho[y] = derecho[v];
+                padre[derecho[y]] = y;
+            }
+            sustituye(v, y);
+            izquierdo[y] = izquierdo[v];
+            padre[izquierdo[y]] = y;
+            rojo[y] = rojo[v];
+        }
+
+        if (!eraRojo)
+            rebalanceaEliminar(x);
+
+        padre[NADA] = NADA;
+        libera(v);
+        elementos--;
+    }
+
+    /**
+     * Nos dice si un elemento está contenido en el árbol.
+     * @param e el elemento que queremos verificar si está contenido.
+     * @return <code>true</code> si el elemento está contenido en el árbol,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int e) {
+        return busca(e) != NADA;
+    }
+
+    /**
+     * Nos dice si el árbol es vacío.
+     * @return <code>true</code> si el árbol es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+        return raiz == NADA;
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol.
+     * @return el número de elementos en el árbol.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa la altura del árbol: -1 si es vacío.
+     * @return la altura del árbol.
+     */
+    public int altura() {
+        return altura(raiz);
+    }
+
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío. Los arreglos conservan su
+     * capacidad.
+     */
+    public void limpia() {
+        raiz = NADA;
+        elementos = 0;
+        siguiente = 1;
+        libres = NADA;
+    }
+
+    /**
+     * Regresa un arreglo con los elementos del árbol en orden.
+     * @return un arreglo con los elementos del árbol en orden.
+     */
+    public int[] aArreglo() {
+        int[] r = new int[elementos];
+        int i = 0;
+        for (int v = raiz == NADA ? NADA : minimo(raiz); v != NADA;
+             v = sucesor(v))
+            r[i++] = elemento[v];
+        return r;
+    }
+
+    /**
+     * Regresa una representación en cadena del árbol: sus elementos en orden,
+     * separados por comas.
+     * @return una representación en cadena del árbol.
+     */
+    @Override public String toString() {
+        return Arrays.toString(aArreglo());
+    }
+
+    /* Regresa el índice de un vértice con el elemento, o NADA. */
+    private int busca(int e) {
+        int v = raiz;
+        while (v != NADA && elemento[v] != e)
+            v = e < elemento[v] ? izquierdo[v] : derecho[v];
+        return v;
+    }
+
+    /* Regresa el índice de un vértice nuevo, rojo y sin parientes. */
+    private int nuevoVertice(int e) {
+        int v;
+        if (libres != NADA) {
+            v = libres;
+            libres = izquierdo[v];
+        } else {
+            if (siguiente == elemento.length)
+                crece();
+            v = siguiente++;
+        }
+        elemento[v] = e;
+        padre[v] = izquierdo[v] = derecho[v] = NADA;
+        rojo[v] = true;
+        return v;
+    }
+
+    /* Agrega el índice a la lista de libres. */
+    private void libera(int v) {
+        izquierdo[v] = libres;
+        libres = v;
+    }
+
+    /* Duplica la capacidad de los arreglos, sin pasar de la longitud máxima. */
+    private void crece() {
+        if (elemento.length >= LONGITUD_MAXIMA)
+            throw new IllegalStateException("El árbol está lleno");
+        long doble = 2L * elemento.length;
+        int n = (int)Math.max(Math.min(doble, LONGITUD_MAXIMA),
+                              CAPACIDAD_INICIAL);
+        elemento = Arrays.copyOf(elemento, n);
+        padre = Arrays.copyOf(padre, n);
+        izquierdo = Arrays.copyOf(izquierdo, n);
+        derecho = Arrays.copyOf(derecho, n);
+        rojo = Arrays.copyOf(rojo, n);
+    }
+
+    /* Regresa la altura del subárbol del vértice. */
+    private int altura(int v) {
+        if (v == NADA)
+            return -1;
+        return 1 + Math.max(altura(izquierdo[v]), altura(derecho[v]));
+    }
+
+    /* Regresa el vértice mínimo del subárbol de v. */
+    private int minimo(int v) {
+        while (izquierdo[v] != NADA)
+            v = izquierdo[v];
+        return v;
+    }
+
+    /* Regresa el sucesor en orden de v, o NADA. */
+    private int sucesor(int v) {
+        if (derecho[v] != NADA)
+            return minimo(derecho[v]);
+        int p = padre[v];
+        while (p != NADA && v == derecho[p]) {
+            v = p;
+            p = padre[p];
+        }
+        return p;
+    }
+
+    /* Pone a u en el lugar de v con respecto al padre de v. */
+    private void sustituye(int v, int u) {
+        int p = padre[v];
+        if (p == NADA)
+            raiz = u;
+        else if (v == izquierdo[p])
+            izquierdo[p] = u;
+        else
+            derecho[p] = u;
+        padre[u] = p;
+    }
+
+    /* Gira a la izquierda sobre v. */
+    private void giraIzquierda(int v) {
+        int q = derecho[v];
+        derecho[v] = izquierdo[q];
+        if (izquierdo[q] != NADA)
+            padre[izquierdo[q]] = v;
+        sustituye(v, q);
+        izquierdo[q] = v;
+        padre[v] = q;
+    }
+
+    /* Gira a la derecha sobre v. */
+    private void giraDerecha(int v) {
+        int q = izquierdo[v];
+        izquierdo[v] = derecho[q];
+        if (derecho[q] != NADA)
+            padre[derecho[q]] = v;
+        sustituye(v, q);
+        derecho[q] = v;
+        padre[v] = q;
+    }
+
+    /* Rebalancea el árbol después de agregar el vértice rojo v. */
+    private void rebalanceaAgregar(int v) {
+        while (rojo[padre[v]]) {
+            int p = padre[v];
+            int a = padre[p];
+            if (p == izquierdo[a]) {
+                int t = derecho[a];
+                if (rojo[t]) {
+                    rojo[p] = rojo[t] = false;
+                    rojo[a] = true;
+                    v = a;
+                    continue;
+                }
+                if (v == derecho[p]) {
+                    giraIzquierda(p);
+                    v = p;
+                    p = padre[v];
+                }
+                rojo[p] = false;
+                rojo[a] = true;
+                giraDerecha(a);
+            } else {
+                int t = izquierdo[a];
+                if (rojo[t]) {
+                    rojo[p] = rojo[t] = false;
+                    rojo[a] = true;
+                    v = a;
+                    continue;
+                }
+                if (v == izquierdo[p]) {
+                    giraDerecha(p);
+                    v = p;
+                    p = padre[v];
+                }
+                rojo[p] = false;
+                rojo[a] = true;
+                giraIzquierda(a);
+            }
+        }
+        rojo[raiz] = false;
+    }
+
+    /* Rebalancea el árbol después de eliminar un vértice negro; x es el
+     * vértice (tal vez el centinela) que quedó en su lugar. */
+    private void rebalanceaEliminar(int x) {
+        while (x != raiz && !rojo[x]) {
+            int p = padre[x];
+            if (x == izquierdo[p]) {
+                int h = derecho[p];
+                if (rojo[h]) {
+                    rojo[h] = false;
+                    rojo[p] = true;
+                    giraIzquierda(p);
+                    h = derecho[p];
+                }
+                if (!rojo[izquierdo[h]] && !rojo[derecho[h]]) {
+                    rojo[h] = true;
+                    x = p;
+                    continue;
+                }
+                if (!rojo[derecho[h]]) {
+                    rojo[izquierdo[h]] = false;
+                    rojo[h] = true;
+                    giraDerecha(h);
+                    h = derecho[p];
+                }
+                rojo[h] = rojo[p];
+                rojo[p] = rojo[derecho[h]] = false;
+                giraIzquierda(p);
+            } else {
+                int h = izquierdo[p];
+                if (rojo[h]) {
+                    rojo[h] = false;
+                    rojo[p] = true;
+                    giraDerecha(p);
+                    h = izquierdo[p];
+                }
+                if (!rojo[izquierdo[h]] && !rojo[derecho[h]]) {
+                    rojo[h] = true;
+                    x = p;
+                    continue;
+                }
+                if (!rojo[izquierdo[h]]) {
+                    rojo[derecho[h]] = false;
+                    rojo[h] = true;
+                    giraIzquierda(h);
+                    h = izquierdo[p];
+                }
+                rojo[h] = rojo[p];
+                rojo[p] = rojo[izquierdo[h]] = false;
+                giraDerecha(p);
+            }
+            x = raiz;
+        }
+        rojo[x] = false;
+    }
+}
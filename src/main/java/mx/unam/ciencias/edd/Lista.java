@@ -1,8 +1,11 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
  * <p>Clase genérica para listas doblemente ligadas.</p>
@@ -13,10 +16,17 @@ import java.util.NoSuchElementException;
  *
  * <p>Las listas no aceptan a <code>null</code> como elemento.</p>
  *
+ * <p>Opcionalmente, una lista puede mantener un índice por dispersión de sus
+ * elementos (ver {@link #indexa}), con el que {@link #contiene} y {@link
+ * #elimina} son de tiempo constante esperado en lugar de lineal.</p>
+ *
  * @param <T> El tipo de los elementos de la lista.
  */
 public class Lista<T> implements Coleccion<T> {
 
+    /* El número inicial de cubetas del índice; siempre es potencia de 2. */
+    private static final int CUBETAS_INICIALES = 16;
+
     /* Clase interna privada para nodos. */
     private class Nodo {
         /* El elemento del nodo. */
@@ -25,6 +35,8 @@ public class Lista<T> implements Coleccion<T> {
         private Nodo anterior;
         /* El nodo siguiente. */
         private Nodo siguiente;
+        /* El nodo siguiente en la cubeta del índice. */
+        private Nodo siguienteEnCubeta;
 
         /* Construye un nodo con un elemento. */
         private Nodo(T elemento) {
@@ -112,6 +124,15 @@ public class Lista<T> implements Coleccion<T> {
     private Nodo rabo;
     /* Número de elementos en la lista. */
     private int longitud;
+    /* El último nodo al que se accedió por índice, o null. */
+    private Nodo dedo;
+    /* El índice del dedo. */
+    private int indiceDedo;
+    /* Las cubetas del índice por dispersión, o null si la lista no está
+     * indexada. Cada cubeta es una cadena de nodos ligados por
+     * siguienteEnCubeta, en la que los nodos con elementos iguales aparecen
+     * en el mismo orden que en la lista. */
+    private Nodo[] cubetas;
 
     /**
      * Regresa la longitud de la lista. El método es idéntico a {@link
@@ -169,6 +190,8 @@ public class Lista<T> implements Coleccion<T> {
             cabeza = a;
             rabo = a;
             longitud = 1;
+            if (cubetas != null)
+                indexaNodo(a);
             return;
         }
 
@@ -179,6 +202,66 @@ public class Lista<T> implements Coleccion<T> {
         rabo = a;
 
         longitud++;
+        if (cubetas != null)
+            indexaNodo(a);
+    }
+
+    /**
+     * Agrega todos los elementos del iterable al final de la lista, en orden.
+     * Los nodos nuevos se ligan primero entre sí y la cadena completa se pega
+     * al rabo de una sola vez; si la lista está indexada y la cadena es por
+     * lo menos tan larga como la lista, el índice se reconstruye una sola vez
+     * en lugar de indexar cada nodo.
+     * @param elementos los elementos a agregar.
+     * @throws IllegalArgumentException si alguno de los elementos es
+     *         <code>null</code>; en ese caso la lista no se modifica.
+     */
+    @Override public void agregaTodos(Iterable<? extends T> elementos) {
+        Nodo primero = null;
+        Nodo ultimo = null;
+        int n = 0;
+        for (T e : elementos) {
+            if (e == null)
+                throw new IllegalArgumentException();
+            Nodo m = new Nodo(e);
+            if (primero == null) {
+                primero = m;
+            } else {
+                ultimo.siguiente = m;
+                m.anterior = ultimo;
+            }
+            ultimo = m;
+            n++;
+        }
+        if (n == 0)
+            return;
+
+        boolean reindexa = cubetas != null && n >= longitud;
+        if (cubetas != null && !reindexa) {
+            Nodo m = primero;
+            while (m != null) {
+                Nodo s = m.siguiente;
+                m.siguiente = null;
+                rabo.siguiente = m;
+                m.anterior = rabo;
+                rabo = m;
+                longitud++;
+                indexaNodo(m);
+                m = s;
+            }
+            return;
+        }
+
+        if (rabo == null) {
+            cabeza = primero;
+        } else {
+            rabo.siguiente = primero;
+            primero.anterior = rabo;
+        }
+        rabo = ultimo;
+        longitud += n;
+        if (reindexa)
+            reconstruyeIndice(cubetas.length);
     }
 
     /**
@@ -212,6 +295,8 @@ public class Lista<T> implements Coleccion<T> {
             cabeza = a;
             rabo = a;
             longitud = 1;
+            if (cubetas != null)
+                indexaNodo(a);
             return;
         }
 
@@ -222,6 +307,9 @@ public class Lista<T> implements Coleccion<T> {
         cabeza = a;
 
         longitud++;
+        indiceDedo++;
+        if (cubetas != null)
+            indexaNodo(a);
     }
 
     /**
@@ -231,7 +319,8 @@ public class Lista<T> implements Coleccion<T> {
      * de la lista. Si el índice es mayor o igual que el número de elementos en
      * la lista, el elemento se agrega al fina de la misma. En otro caso,
      * después de mandar llamar el método, el elemento tendrá el índice que se
-     * especifica en la lista.
+     * especifica en la lista. El nodo en el índice se busca como en {@link
+     * #get}.
      * @param i el índice dónde insertar el elemento. Si es menor que 0 el
      *          elemento se agrega al inicio de la lista, y si es mayor o igual
      *          que el número de elementos en la lista se agrega al final.
@@ -255,28 +344,34 @@ public class Lista<T> implements Coleccion<T> {
         }
 
         Nodo n = new Nodo(elemento);
-        Nodo aux = cabeza;
+        Nodo aux = nodo(i).anterior;
 
-        for (int x = 0; x < i - 1; x++)
-            aux = aux.siguiente;
-        
         n.siguiente = aux.siguiente;
         aux.siguiente.anterior = n;
         n.anterior = aux;
         aux.siguiente = n;
 
         longitud++;
-
+        dedo = n;
+        if (cubetas != null)
+            indexaNodo(n);
     }
 
     /**
      * Elimina un elemento de la lista. Si el elemento no está contenido en la
-     * lista, el método no la modifica.
+     * lista, el método no la modifica. Si la lista está indexada, el nodo a
+     * eliminar se busca en el índice.
      * @param elemento el elemento a eliminar.
      */
     @Override public void elimina(T elemento) {
         // Aquí va su código.
+        if (cubetas != null) {
+            eliminaIndexado(elemento);
+            return;
+        }
+
         Nodo n = cabeza;
+        int i = 0;
 
         while (n != null) {
             if (n.elemento.equals(elemento)) {
@@ -292,13 +387,50 @@ public class Lista<T> implements Coleccion<T> {
                     n.anterior.siguiente = n.siguiente;
                     n.siguiente.anterior = n.anterior;
                     longitud--;
+                    if (n == dedo)
+                        dedo = null;
+                    else if (i < indiceDedo)
+                        indiceDedo--;
                 }
 
                 return;
             }
 
             n = n.siguiente;
+            i++;
+        }
+    }
+
+    /**
+     * Elimina de la lista todos los elementos que cumplen la condición, en
+     * una sola pasada que desliga cada nodo a eliminar.
+     * @param condicion la condición que cumplen los elementos a eliminar.
+     * @return el número de elementos eliminados.
+     */
+    @Override public int eliminaSi(Predicate<? super T> condicion) {
+        int eliminados = 0;
+        Nodo n = cabeza;
+        while (n != null) {
+            Nodo s = n.siguiente;
+            if (condicion.test(n.elemento)) {
+                if (cubetas != null)
+                    desindexaNodo(n);
+                if (n.anterior == null)
+                    cabeza = s;
+                else
+                    n.anterior.siguiente = s;
+                if (s == null)
+                    rabo = n.anterior;
+                else
+                    s.anterior = n.anterior;
+                longitud--;
+                eliminados++;
+            }
+            n = s;
         }
+        if (eliminados > 0)
+            dedo = null;
+        return eliminados;
     }
 
     /**
@@ -313,6 +445,11 @@ public class Lista<T> implements Coleccion<T> {
 
         T r = cabeza.elemento;
 
+        if (cubetas != null)
+            desindexaNodo(cabeza);
+        if (dedo == cabeza)
+            dedo = null;
+        indiceDedo--;
         cabeza = cabeza.siguiente;
 
         if (cabeza != null) {
@@ -341,6 +478,10 @@ public class Lista<T> implements Coleccion<T> {
 
         T r = rabo.elemento;
 
+        if (cubetas != null)
+            desindexaNodo(rabo);
+        if (dedo == rabo)
+            dedo = null;
         rabo = rabo.anterior;
 
         if (rabo != null) {
@@ -358,13 +499,17 @@ public class Lista<T> implements Coleccion<T> {
     }
 
     /**
-     * Nos dice si un elemento está en la lista.
+     * Nos dice si un elemento está en la lista. Si la lista está indexada, el
+     * elemento se busca en el índice.
      * @param elemento el elemento que queremos saber si está en la lista.
      * @return <code>true</code> si <code>elemento</code> está en la lista,
      *         <code>false</code> en otro caso.
      */
     @Override public boolean contiene(T elemento) {
         // Aquí va su código.
+        if (cubetas != null)
+            return buscaNodo(elemento) != null;
+
         Nodo n = cabeza;
 
         while (n != null) {
@@ -416,13 +561,17 @@ public class Lista<T> implements Coleccion<T> {
     }
 
     /**
-     * Limpia la lista de elementos, dejándola vacía.
+     * Limpia la lista de elementos, dejándola vacía. Si la lista está
+     * indexada, lo sigue estando.
      */
     @Override public void limpia() {
         // Aquí va su código.
         cabeza = null;
         rabo = null;
         longitud = 0;
+        dedo = null;
+        if (cubetas != null)
+            cubetas = nuevasCubetas(CUBETAS_INICIALES);
     }
 
     /**
@@ -452,7 +601,10 @@ public class Lista<T> implements Coleccion<T> {
     }
 
     /**
-     * Regresa el <em>i</em>-ésimo elemento de la lista.
+     * Regresa el <em>i</em>-ésimo elemento de la lista. La lista recuerda el
+     * último nodo al que se accedió por índice, y camina hacia el índice desde
+     * ese nodo, la cabeza o el rabo, el que esté más cerca; así recorrer la
+     * lista con índices consecutivos es de tiempo lineal.
      * @param i el índice del elemento que queremos.
      * @return el <em>i</em>-ésimo elemento de la lista.
      * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
@@ -463,13 +615,30 @@ public class Lista<T> implements Coleccion<T> {
         if (i < 0 || i >= longitud)
             throw new ExcepcionIndiceInvalido();
 
-        Nodo n = cabeza;
+        return nodo(i).elemento;
+    }
 
-        for (int j = 0; j < i; j++) {
-            n = n.siguiente;
+    /* Regresa el nodo con índice i, que tiene que ser válido. Camina desde la
+     * cabeza, el rabo o el dedo (el que esté más cerca), y deja el dedo en el
+     * nodo; así los accesos secuenciales o cercanos son de tiempo constante. */
+    private Nodo nodo(int i) {
+        Nodo n = cabeza;
+        int j = 0;
+        if (longitud - 1 - i < i) {
+            n = rabo;
+            j = longitud - 1;
         }
-
-        return n.elemento;
+        if (dedo != null && Math.abs(i - indiceDedo) < Math.abs(i - j)) {
+            n = dedo;
+            j = indiceDedo;
+        }
+        for (; j < i; j++)
+            n = n.siguiente;
+        for (; j > i; j--)
+            n = n.anterior;
+        dedo = n;
+        indiceDedo = i;
+        return n;
     }
 
     /**
@@ -482,6 +651,8 @@ public class Lista<T> implements Coleccion<T> {
         // Aquí va su código.
         if (esVacia())
             return -1;
+        if (cubetas != null && buscaNodo(elemento) == null)
+            return -1;
 
         Nodo n = cabeza;
         int count = 0;
@@ -499,25 +670,174 @@ public class Lista<T> implements Coleccion<T> {
         return -1;
     }
 
+    /**
+     * Indexa la lista: a partir de ahora la lista mantiene un índice por
+     * dispersión de sus elementos, con el que {@link #contiene} y {@link
+     * #elimina} son de tiempo constante esperado, y {@link #indiceDe} regresa
+     * -1 en tiempo constante esperado si el elemento no está. El índice se
+     * mantiene al agregar, insertar, eliminar y ordenar, a cambio de hacer un
+     * poco más lentas esas operaciones; los elementos tienen que implementar
+     * {@link Object#hashCode} de forma consistente con {@link Object#equals}.
+     * Si la lista ya está indexada, el método no hace nada.
+     */
+    public void indexa() {
+        if (cubetas == null)
+            reconstruyeIndice(CUBETAS_INICIALES);
+    }
+
+    /**
+     * Descarta el índice de la lista, si lo tiene.
+     * @see #indexa
+     */
+    public void desindexa() {
+        cubetas = null;
+    }
+
+    /**
+     * Nos dice si la lista está indexada.
+     * @return <code>true</code> si la lista está indexada, <code>false</code>
+     *         en otro caso.
+     * @see #indexa
+     */
+    public boolean estaIndexada() {
+        return cubetas != null;
+    }
+
+    /* Crea un arreglo de cubetas. */
+    @SuppressWarnings("unchecked") private Nodo[] nuevasCubetas(int n) {
+        return (Nodo[])new Lista<?>.Nodo[n];
+    }
+
+    /* Regresa la cubeta del elemento. */
+    private int cubeta(T elemento) {
+        int h = elemento.hashCode();
+        return (h ^ (h >>> 16)) & (cubetas.length - 1);
+    }
+
+    /* Reconstruye el índice con al menos el número de cubetas recibido,
+     * recorriendo la lista de atrás hacia adelante y agregando cada nodo al
+     * inicio de su cubeta, para que los iguales queden en orden. */
+    private void reconstruyeIndice(int n) {
+        while (n < longitud + longitud / 3)
+            n *= 2;
+        cubetas = nuevasCubetas(n);
+        for (Nodo m = rabo; m != null; m = m.anterior) {
+            int c = cubeta(m.elemento);
+            m.siguienteEnCubeta = cubetas[c];
+            cubetas[c] = m;
+        }
+    }
+
+    /* Regresa el primer nodo (en el orden de la lista) con el elemento, o
+     * null. */
+    private Nodo buscaNodo(T elemento) {
+        if (elemento == null)
+            return null;
+        for (Nodo m = cubetas[cubeta(elemento)]; m != null;
+             m = m.siguienteEnCubeta)
+            if (m.elemento.equals(elemento))
+                return m;
+        return null;
+    }
+
+    /* Agrega al índice el nodo n, que ya está en la lista. En la cubeta, n
+     * tiene que quedar después de los nodos iguales que lo preceden en la
+     * lista, y antes de los que lo siguen. Si n es el rabo, va después del
+     * último igual de la cubeta; si es la cabeza, o no tiene iguales, va al
+     * inicio. Si está en medio y tiene iguales, hay que buscar en la lista
+     * el igual que lo precede. */
+    private void indexaNodo(Nodo n) {
+        if (longitud > cubetas.length - cubetas.length / 4) {
+            reconstruyeIndice(2 * cubetas.length);
+            return;
+        }
+        int c = cubeta(n.elemento);
+        Nodo p = null;
+        if (n.anterior != null) {
+            Nodo ultimo = null;
+            for (Nodo m = cubetas[c]; m != null; m = m.siguienteEnCubeta)
+                if (m.elemento.equals(n.elemento))
+                    ultimo = m;
+            if (n.siguiente == null)
+                p = ultimo;
+            else if (ultimo != null)
+                for (p = n.anterior; p != null; p = p.anterior)
+                    if (p.elemento.equals(n.elemento))
+                        break;
+        }
+        if (p == null) {
+            n.siguienteEnCubeta = cubetas[c];
+            cubetas[c] = n;
+        } else {
+            n.siguienteEnCubeta = p.siguienteEnCubeta;
+            p.siguienteEnCubeta = n;
+        }
+    }
+
+    /* Quita del índice el nodo n. */
+    private void desindexaNodo(Nodo n) {
+        int c = cubeta(n.elemento);
+        if (cubetas[c] == n) {
+            cubetas[c] = n.siguienteEnCubeta;
+        } else {
+            Nodo m = cubetas[c];
+            while (m.siguienteEnCubeta != n)
+                m = m.siguienteEnCubeta;
+            m.siguienteEnCubeta = n.siguienteEnCubeta;
+        }
+        n.siguienteEnCubeta = null;
+    }
+
+    /* Elimina de la lista indexada el primer nodo con el elemento. Como no
+     * sabemos el índice del nodo, el dedo se descarta. */
+    private void eliminaIndexado(T elemento) {
+        Nodo n = buscaNodo(elemento);
+        if (n == null)
+            return;
+        if (n == cabeza) {
+            eliminaPrimero();
+        } else if (n == rabo) {
+            eliminaUltimo();
+        } else {
+            desindexaNodo(n);
+            n.anterior.siguiente = n.siguiente;
+            n.siguiente.anterior = n.anterior;
+            longitud--;
+        }
+        dedo = null;
+    }
+
     /**
      * Regresa una representación en cadena de la lista.
      * @return una representación en cadena de la lista.
+     * @see #escribe
      */
     @Override public String toString() {
         // Aquí va su código.
-        String r = "[";
-
-        if (esVacia())
-            return r + "]";
-
-        Nodo temp = cabeza;
-
-        for (int i = 0; i < longitud - 1; i++) {
-            r += temp.elemento + ", ";
-            temp = temp.siguiente;
+        StringBuilder sb = new StringBuilder();
+        try {
+            escribe(sb);
+        } catch (IOException ioe) {
+            /* Un StringBuilder nunca lanza IOException. */
+            throw new UncheckedIOException(ioe);
         }
+        return sb.toString();
+    }
 
-        return r + temp.elemento + "]";
+    /**
+     * Escribe la representación en cadena de la lista en la salida recibida,
+     * elemento por elemento, sin construir la cadena completa.
+     * @param salida la salida donde se escribirá la lista.
+     * @throws IOException si la salida lanza la excepción al escribir.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        salida.append('[');
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            salida.append(n.elemento.toString());
+            if (n.siguiente != null)
+                salida.append(", ");
+        }
+        salida.append(']');
     }
 
     /**
@@ -576,54 +896,87 @@ public class Lista<T> implements Coleccion<T> {
      */
     public Lista<T> mergeSort(Comparator<T> comparador) {
         // Aquí va su código.
-        if (longitud == 1) {
-            return this;
-        }
-
-        Lista <T> a = new Lista<T>();
-        Lista <T> b = new Lista<T>(); 
-
-        for (int i = 0; i < longitud/2; i++)
-            a.agregaFinal(this.get(i));
-
-        for (int i = longitud/2; i < longitud; i++)
-            b.agregaFinal(this.get(i));
-
-        a = a.mergeSort(comparador);
-        b = b.mergeSort(comparador);
-
-        return auxMerge(a, b, comparador);
+        Lista<T> r = copia();
+        r.ordena(comparador);
+        return r;
     }
 
-    private Lista<T> auxMerge(Lista<T> izquierda, Lista<T> derecha, Comparator<T> c) { //Método para juntar dos listas
-        Lista<T> aux = new Lista<T>();
-
-        Nodo nA = izquierda.cabeza;
-        Nodo nB = derecha.cabeza;
+    /**
+     * Ordena la lista usando MergeSort, sin copiarla: en lugar de crear nodos
+     * nuevos, el método religa los nodos que ya tiene la lista. Las mezclas se
+     * hacen de abajo hacia arriba (primero corridas de 1 elemento, luego de 2,
+     * de 4, etc.), así que el ordenamiento es de tiempo <em>O</em>(<em>n</em>
+     * log <em>n</em>), no usa recursión ni memoria adicional, y es estable.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordena(Comparator<T> comparador) {
+        if (longitud < 2)
+            return;
 
-        while (nA != null && nB != null) {
-            if (c.compare(nB.elemento, nA.elemento) < 0) {
-                aux.agregaFinal(nB.elemento);
-                nB = nB.siguiente;
+        Nodo primero = cabeza;
+        for (int ancho = 1; ; ancho *= 2) {
+            Nodo p = primero;
+            Nodo ultimo = null;
+            primero = null;
+            int mezclas = 0;
+
+            while (p != null) {
+                mezclas++;
+                /* La corrida izquierda empieza en p, la derecha en q. */
+                Nodo q = p;
+                int lp = 0;
+                while (lp < ancho && q != null) {
+                    q = q.siguiente;
+                    lp++;
+                }
+                int lq = ancho;
+
+                while (lp > 0 || (lq > 0 && q != null)) {
+                    Nodo n;
+                    if (lp == 0 || (lq > 0 && q != null &&
+                                    comparador.compare(q.elemento,
+                                                       p.elemento) < 0)) {
+                        n = q;
+                        q = q.siguiente;
+                        lq--;
+                    } else {
+                        n = p;
+                        p = p.siguiente;
+                        lp--;
+                    }
+                    if (ultimo == null)
+                        primero = n;
+                    else
+                        ultimo.siguiente = n;
+                    n.anterior = ultimo;
+                    ultimo = n;
+                }
+                p = q;
             }
 
-            else {
-                aux.agregaFinal(nA.elemento);
-                nA = nA.siguiente;
+            ultimo.siguiente = null;
+            if (mezclas == 1) {
+                cabeza = primero;
+                rabo = ultimo;
+                dedo = null;
+                if (cubetas != null)
+                    reconstruyeIndice(cubetas.length);
+                return;
             }
         }
+    }
 
-        while (nA != null) {
-            aux.agregaFinal(nA.elemento);
-            nA = nA.siguiente;
-        }
-
-        while (nB != null) {
-            aux.agregaFinal(nB.elemento);
-            nB = nB.siguiente;
-        }
-        
-        return aux;
+    /**
+     * Ordena la lista recibida usando MergeSort, sin copiarla. La lista
+     * recibida tiene que contener nada más elementos que implementan la
+     * interfaz {@link Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @see #ordena(Comparator)
+     */
+    public static <T extends Comparable<T>> void ordena(Lista<T> lista) {
+        lista.ordena((a, b) -> a.compareTo(b));
     }
 
     /**
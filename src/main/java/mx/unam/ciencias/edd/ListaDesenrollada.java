@@ -0,0 +1,722 @@
+package mx.unam.ciencias.edd;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * <p>Clase genérica para listas desenrolladas.</p>
+ *
+ * <p>Una lista desenrollada tiene los mismos métodos que una {@link Lista},
+ * pero en lugar de un nodo por elemento, cada nodo guarda un arreglo pequeño
+ * de elementos contiguos. Un nodo de {@link Lista} cuesta alrededor de 32
+ * bytes además del elemento; aquí el costo del nodo se reparte entre todos
+ * los elementos de su arreglo, así que con nodos de 32 elementos cada elemento
+ * cuesta poco más que su referencia. Además los elementos contiguos están
+ * juntos en memoria, lo que hace más rápido recorrer la lista en {@link
+ * #contiene}, {@link #indiceDe} y con sus iteradores.</p>
+ *
+ * <p>Insertar o eliminar en medio de un nodo recorre los elementos restantes
+ * del nodo; cuando un nodo lleno recibe un elemento más se parte en dos, y
+ * cuando un nodo queda a menos de la mitad se funde con el siguiente si
+ * caben juntos. Agregar al final llena los nodos por completo.</p>
+ *
+ * <p>Las listas desenrolladas no aceptan a <code>null</code> como
+ * elemento.</p>
+ *
+ * @param <T> El tipo de los elementos de la lista.
+ */
+public class ListaDesenrollada<T> implements Coleccion<T> {
+
+    /* La capacidad por omisión de los nodos. */
+    private static final int CAPACIDAD_NODO = 32;
+
+    /* Clase interna privada para nodos. */
+    private class Nodo {
+        /* Los elementos del nodo. */
+        private T[] elementos;
+        /* El número de elementos en el nodo. */
+        private int cuenta;
+        /* El nodo anterior. */
+        private Nodo anterior;
+        /* El nodo siguiente. */
+        private Nodo siguiente;
+
+        /* Construye un nodo vacío. */
+        private Nodo() {
+            elementos = nuevoArreglo(capacidadNodo);
+        }
+
+        /* Inserta el elemento en la posición i del nodo, que no está lleno. */
+        private void inserta(int i, T elemento) {
+            System.arraycopy(elementos, i, elementos, i + 1, cuenta - i);
+            elementos[i] = elemento;
+            cuenta++;
+        }
+
+        /* Elimina y regresa el elemento en la posición i del nodo. */
+        private T elimina(int i) {
+            T r = elementos[i];
+            System.arraycopy(elementos, i + 1, elementos, i, cuenta - i - 1);
+            elementos[--cuenta] = null;
+            return r;
+        }
+    }
+
+    /* Clase interna privada para iteradores. El iterador está antes del
+     * elemento en la posición indice del nodo, o después del último elemento
+     * si el nodo es null. */
+    private class Iterador implements IteradorLista<T> {
+        /* El nodo del elemento siguiente. */
+        private Nodo nodo;
+        /* La posición del elemento siguiente en su nodo. */
+        private int indice;
+
+        /* Construye un nuevo iterador. */
+        private Iterador() {
+            start();
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+            return nodo != null;
+        }
+
+        /* Nos da el elemento siguiente. */
+        @Override public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            T r = nodo.elementos[indice++];
+            if (indice == nodo.cuenta) {
+                nodo = nodo.siguiente;
+                indice = 0;
+            }
+            return r;
+        }
+
+        /* Nos dice si hay un elemento anterior. */
+        @Override public boolean hasPrevious() {
+            if (nodo == null)
+                return rabo != null;
+            return indice > 0 || nodo.anterior != null;
+        }
+
+        /* Nos da el elemento anterior. */
+        @Override public T previous() {
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            if (nodo == null) {
+                nodo = rabo;
+                indice = rabo.cuenta;
+            } else if (indice == 0) {
+                nodo = nodo.anterior;
+                indice = nodo.cuenta;
+            }
+            return nodo.elementos[--indice];
+        }
+
+        /* Mueve el iterador al inicio de la lista. */
+        @Override public void start() {
+            nodo = cabeza;
+            indice = 0;
+        }
+
+        /* Mueve el iterador al final de la lista. */
+        @Override public void end() {
+            nodo = null;
+            indice = 0;
+        }
+    }
+
+    /* Primer nodo de la lista. */
+    private Nodo cabeza;
+    /* Último nodo de la lista. */
+    private Nodo rabo;
+    /* Número de elementos en la lista. */
+    private int longitud;
+    /* El número máximo de elementos en cada nodo. */
+    private int capacidadNodo;
+
+    /**
+     * Constructor sin parámetros. Los nodos de la lista tendrán capacidad
+     * para 32 elementos.
+     */
+    public ListaDesenrollada() {
+        this(CAPACIDAD_NODO);
+    }
+
+    /**
+     * Construye una lista vacía cuyos nodos tendrán capacidad para el número
+     * de elementos recibido.
+     * @param capacidadNodo el número máximo de elementos en cada nodo.
+     * @throws IllegalArgumentException si la capacidad es menor que 2.
+     */
+    public ListaDesenrollada(int capacidadNodo) {
+        if (capacidadNodo < 2)
+            throw new IllegalArgumentException("Capacidad inválida: " +
+                                               capacidadNodo);
+        this.capacidadNodo = capacidadNodo;
+    }
+
+    /**
+     * Regresa la longitud de la lista. El método es idéntico a {@link
+     * #getElementos}.
+     * @return la longitud de la lista, el número de elementos que contiene.
+     */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    /**
+     * Regresa el número elementos en la lista. El método es idéntico a {@link
+     * #getLongitud}.
+     * @return el número elementos en la lista.
+     */
+    @Override public int getElementos() {
+        return longitud;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return longitud == 0;
+    }
+
+    /**
+     * Agrega un elemento a la lista. Si la lista no tiene elementos, el
+     * elemento a agregar será el primero y último. El método es idéntico a
+     * {@link #agregaFinal}.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (rabo == null || rabo.cuenta == capacidadNodo)
+            enlazaDespues(rabo, new Nodo());
+        rabo.elementos[rabo.cuenta++] = elemento;
+        longitud++;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaFinal(T elemento) {
+        agrega(elemento);
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista. Si la lista no tiene elementos,
+     * el elemento a agregar será el primero y último.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void agregaInicio(T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (cabeza == null || cabeza.cuenta == capacidadNodo)
+            enlazaDespues(null, new Nodo());
+        cabeza.inserta(0, elemento);
+        longitud++;
+    }
+
+    /**
+     * Inserta un elemento en un índice explícito.
+     *
+     * Si el índice es menor o igual que cero, el elemento se agrega al inicio
+     * de la lista. Si el índice es mayor o igual que el número de elementos en
+     * la lista, el elemento se agrega al fina de la misma. En otro caso,
+     * después de mandar llamar el método, el elemento tendrá el índice que se
+     * especifica en la lista.
+     * @param i el índice dónde insertar el elemento. Si es menor que 0 el
+     *          elemento se agrega al inicio de la lista, y si es mayor o igual
+     *          que el número de elementos en la lista se agrega al final.
+     * @param elemento el elemento a insertar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public void inserta(int i, T elemento) {
+        if (elemento == null)
+            throw new IllegalArgumentException();
+        if (i <= 0) {
+            agregaInicio(elemento);
+            return;
+        }
+        if (i >= longitud) {
+            agregaFinal(elemento);
+            return;
+        }
+
+        Nodo n = cabeza;
+        while (i > n.cuenta) {
+            i -= n.cuenta;
+            n = n.siguiente;
+        }
+        if (n.cuenta == capacidadNodo) {
+            Nodo m = parte(n);
+            if (i > n.cuenta) {
+                i -= n.cuenta;
+                n = m;
+            }
+        }
+        n.inserta(i, elemento);
+        longitud++;
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento no está contenido en la
+     * lista, el método no la modifica.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            for (int i = 0; i < n.cuenta; i++) {
+                if (n.elementos[i].equals(elemento)) {
+                    elimina(n, i);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Elimina el primer elemento de la lista y lo regresa.
+     * @return el primer elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaPrimero() {
+        if (esVacia())
+            throw new NoSuchElementException();
+        return elimina(cabeza, 0);
+    }
+
+    /**
+     * Elimina el último elemento de la lista y lo regresa.
+     * @return el último elemento de la lista antes de eliminarlo.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T eliminaUltimo() {
+        if (esVacia())
+            throw new NoSuchElementException();
+        return elimina(rabo, rabo.cuenta - 1);
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos saber si está en la lista.
+     * @return <code>true</code> si <code>elemento</code> está en la lista,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return indiceDe(elemento) != -1;
+    }
+
+    /**
+     * Regresa la reversa de la lista.
+     * @return una nueva lista que es la reversa la que manda llamar el método.
+     */
+    public ListaDesenrollada<T> reversa() {
+        ListaDesenrollada<T> r = new ListaDesenrollada<T>(capacidadNodo);
+        for (Nodo n = rabo; n != null; n = n.anterior)
+            for (int i = n.cuenta - 1; i >= 0; i--)
+                r.agrega(n.elementos[i]);
+        return r;
+    }
+
+    /**
+     * Regresa una copia de la lista. La copia tiene los mismos elementos que la
+     * lista que manda llamar el método, en el mismo orden.
+     * @return una copiad de la lista.
+     */
+    public ListaDesenrollada<T> copia() {
+        ListaDesenrollada<T> r = new ListaDesenrollada<T>(capacidadNodo);
+        for (Nodo n = cabeza; n != null; n = n.siguiente)
+            for (int i = 0; i < n.cuenta; i++)
+                r.agrega(n.elementos[i]);
+        return r;
+    }
+
+    /**
+     * Elimina de la lista todos los elementos que cumplen la condición. Una
+     * primera pasada marca a los elementos a eliminar, y una segunda recorre
+     * hacia adelante a los que sobreviven, llenando los nodos por completo;
+     * los nodos que quedan sin elementos al final se descartan. Si la
+     * condición lanza una excepción, la lista no se modifica.
+     * @param condicion la condición que cumplen los elementos a eliminar.
+     * @return el número de elementos eliminados.
+     */
+    @Override public int eliminaSi(Predicate<? super T> condicion) {
+        boolean[] elimina = new boolean[longitud];
+        int eliminados = 0;
+        int k = 0;
+        for (Nodo n = cabeza; n != null; n = n.siguiente)
+            for (int i = 0; i < n.cuenta; i++, k++)
+                if (condicion.test(n.elementos[i])) {
+                    elimina[k] = true;
+                    eliminados++;
+                }
+        if (eliminados == 0)
+            return 0;
+        if (eliminados == longitud) {
+            limpia();
+            return eliminados;
+        }
+
+        /* El escritor nunca rebasa al lector, así que sólo sobreescribe
+         * posiciones ya leídas. */
+        Nodo w = cabeza;
+        int j = 0;
+        k = 0;
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            for (int i = 0; i < n.cuenta; i++) {
+                if (elimina[k++])
+                    continue;
+                if (j == capacidadNodo) {
+                    w.cuenta = j;
+                    w = w.siguiente;
+                    j = 0;
+                }
+                w.elementos[j++] = n.elementos[i];
+            }
+        }
+        for (int i = j; i < capacidadNodo; i++)
+            w.elementos[i] = null;
+        w.cuenta = j;
+        w.siguiente = null;
+        rabo = w;
+        longitud -= eliminados;
+        return eliminados;
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía.
+     */
+    @Override public void limpia() {
+        cabeza = null;
+        rabo = null;
+        longitud = 0;
+    }
+
+    /**
+     * Regresa el primer elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getPrimero() {
+        if (esVacia())
+            throw new NoSuchElementException();
+        return cabeza.elementos[0];
+    }
+
+    /**
+     * Regresa el último elemento de la lista.
+     * @return el primer elemento de la lista.
+     * @throws NoSuchElementException si la lista es vacía.
+     */
+    public T getUltimo() {
+        if (esVacia())
+            throw new NoSuchElementException();
+        return rabo.elementos[rabo.cuenta - 1];
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo elemento de la lista. El método salta nodos
+     * completos desde la cabeza o el rabo, el que esté más cerca.
+     * @param i el índice del elemento que queremos.
+     * @return el <em>i</em>-ésimo elemento de la lista.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor o
+     *         igual que el número de elementos en la lista.
+     */
+    public T get(int i) {
+        if (i < 0 || i >= longitud)
+            throw new ExcepcionIndiceInvalido();
+
+        if (i < longitud / 2) {
+            Nodo n = cabeza;
+            while (i >= n.cuenta) {
+                i -= n.cuenta;
+                n = n.siguiente;
+            }
+            return n.elementos[i];
+        }
+
+        int j = longitud - 1 - i;
+        Nodo n = rabo;
+        while (j >= n.cuenta) {
+            j -= n.cuenta;
+            n = n.anterior;
+        }
+        return n.elementos[n.cuenta - 1 - j];
+    }
+
+    /**
+     * Regresa el índice del elemento recibido en la lista.
+     * @param elemento el elemento del que se busca el índice.
+     * @return el índice del elemento recibido en la lista, o -1 si el elemento
+     *         no está contenido en la lista.
+     */
+    public int indiceDe(T elemento) {
+        int base = 0;
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            T[] a = n.elementos;
+            for (int i = 0; i < n.cuenta; i++)
+                if (a[i].equals(elemento))
+                    return base + i;
+            base += n.cuenta;
+        }
+        return -1;
+    }
+
+    /**
+     * Regresa una representación en cadena de la lista.
+     * @return una representación en cadena de la lista.
+     * @see #escribe
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            escribe(sb);
+        } catch (IOException ioe) {
+            /* Un StringBuilder nunca lanza IOException. */
+            throw new UncheckedIOException(ioe);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escribe la representación en cadena de la lista en la salida recibida,
+     * elemento por elemento, sin construir la cadena completa.
+     * @param salida la salida donde se escribirá la lista.
+     * @throws IOException si la salida lanza la excepción al escribir.
+     */
+    public void escribe(Appendable salida) throws IOException {
+        salida.append('[');
+        String separador = "";
+        for (Nodo n = cabeza; n != null; n = n.siguiente) {
+            for (int i = 0; i < n.cuenta; i++) {
+                salida.append(separador).append(n.elementos[i].toString());
+                separador = ", ";
+            }
+        }
+        salida.append(']');
+    }
+
+    /**
+     * Nos dice si la lista es igual al objeto recibido. Dos listas
+     * desenrolladas son iguales si tienen los mismos elementos en el mismo
+     * orden, aunque sus nodos sean de distinta capacidad.
+     * @param objeto el objeto con el que hay que comparar.
+     * @return <code>true</code> si la lista es igual al objeto recibido;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if (objeto == null || getClass() != objeto.getClass())
+            return false;
+        @SuppressWarnings("unchecked") ListaDesenrollada<T> lista =
+            (ListaDesenrollada<T>)objeto;
+
+        if (longitud != lista.longitud)
+            return false;
+        Iterator<T> it = lista.iterator();
+        for (T e : this)
+            if (!e.equals(it.next()))
+                return false;
+        return true;
+    }
+
+    /**
+     * Regresa una dispersión de la lista, consistente con {@link #equals}:
+     * depende sólo de los elementos y de su orden, no de la capacidad de los
+     * nodos.
+     * @return una dispersión de la lista.
+     */
+    @Override public int hashCode() {
+        int h = 1;
+        for (T e : this)
+            h = 31 * h + e.hashCode();
+        return h;
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en una dirección.
+     * @return un iterador para recorrer la lista en una dirección.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un iterador para recorrer la lista en ambas direcciones.
+     * @return un iterador para recorrer la lista en ambas direcciones.
+     */
+    public IteradorLista<T> iteradorLista() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa una copia de la lista, pero ordenada. Para poder hacer el
+     * ordenamiento, el método necesita una instancia de {@link Comparator} para
+     * poder comparar los elementos de la lista.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     * @return una copia de la lista, pero ordenada.
+     */
+    public ListaDesenrollada<T> mergeSort(Comparator<T> comparador) {
+        ListaDesenrollada<T> r = copia();
+        r.ordena(comparador);
+        return r;
+    }
+
+    /**
+     * Ordena la lista, sin copiarla. Los elementos se pasan a un arreglo, se
+     * ordenan con {@link Arreglos#mergeSort(Object[],Comparator)} (que es
+     * estable), y se regresan a la lista dejando todos los nodos llenos.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordena(Comparator<T> comparador) {
+        if (longitud < 2)
+            return;
+        T[] a = nuevoArreglo(longitud);
+        int k = 0;
+        for (Nodo n = cabeza; n != null; n = n.siguiente)
+            for (int i = 0; i < n.cuenta; i++)
+                a[k++] = n.elementos[i];
+        Arreglos.mergeSort(a, comparador);
+        limpia();
+        for (T e : a)
+            agrega(e);
+    }
+
+    /**
+     * Ordena la lista recibida, sin copiarla. La lista recibida tiene que
+     * contener nada más elementos que implementan la interfaz {@link
+     * Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @see #ordena(Comparator)
+     */
+    public static <T extends Comparable<T>>
+    void ordena(ListaDesenrollada<T> lista) {
+        lista.ordena((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Regresa una copia de la lista recibida, pero ordenada. La lista recibida
+     * tiene que contener nada más elementos que implementan la interfaz {@link
+     * Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     * @return una copia de la lista recibida, pero ordenada.
+     */
+    public static <T extends Comparable<T>>
+    ListaDesenrollada<T> mergeSort(ListaDesenrollada<T> lista) {
+        return lista.mergeSort((a, b) -> a.compareTo(b));
+    }
+
+    /**
+     * Busca un elemento en la lista ordenada, usando el comparador recibido. El
+     * método supone que la lista está ordenada usando el mismo comparador.
+     * @param elemento el elemento a buscar.
+     * @param comparador el comparador con el que la lista está ordenada.
+     * @return <code>true</code> si el elemento está contenido en la lista,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean busquedaLineal(T elemento, Comparator<T> comparador) {
+        for (Nodo n = cabeza; n != null; n = n.siguiente)
+            for (int i = 0; i < n.cuenta; i++)
+                if (comparador.compare(n.elementos[i], elemento) == 0)
+                    return true;
+        return false;
+    }
+
+    /**
+     * Busca un elemento en una lista ordenada. La lista recibida tiene que
+     * contener nada más elementos que implementan la interfaz {@link
+     * Comparable}, y se da por hecho que está ordenada.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista donde se buscará.
+     * @param elemento el elemento a buscar.
+     * @return <code>true</code> si el elemento está contenido en la lista,
+     *         <code>false</code> en otro caso.
+     */
+    public static <T extends Comparable<T>>
+    boolean busquedaLineal(ListaDesenrollada<T> lista, T elemento) {
+        return lista.busquedaLineal(elemento, (a, b) -> a.compareTo(b));
+    }
+
+    /* Crea un arreglo genérico con n lugares. */
+    @SuppressWarnings("unchecked") private T[] nuevoArreglo(int n) {
+        return (T[])new Object[n];
+    }
+
+    /* Enlaza el nodo m después del nodo n; si n es null, m será la cabeza. */
+    private void enlazaDespues(Nodo n, Nodo m) {
+        m.anterior = n;
+        m.siguiente = n == null ? cabeza : n.siguiente;
+        if (m.siguiente == null)
+            rabo = m;
+        else
+            m.siguiente.anterior = m;
+        if (n == null)
+            cabeza = m;
+        else
+            n.siguiente = m;
+    }
+
+    /* Desenlaza el nodo n de la lista. */
+    private void desenlaza(Nodo n) {
+        if (n.anterior == null)
+            cabeza = n.siguiente;
+        else
+            n.anterior.siguiente = n.siguiente;
+        if (n.siguiente == null)
+            rabo = n.anterior;
+        else
+            n.siguiente.anterior = n.anterior;
+    }
+
+    /* Parte el nodo n, pasando la mitad superior de sus elementos a un nodo
+     * nuevo que se enlaza después de n, y lo regresa. */
+    private Nodo parte(Nodo n) {
+        Nodo m = new Nodo();
+        int mitad = n.cuenta / 2;
+        m.cuenta = n.cuenta - mitad;
+        System.arraycopy(n.elementos, mitad, m.elementos, 0, m.cuenta);
+        for (int i = mitad; i < n.cuenta; i++)
+            n.elementos[i] = null;
+        n.cuenta = mitad;
+        enlazaDespues(n, m);
+        return m;
+    }
+
+    /* Elimina y regresa el elemento en la posición i del nodo n. Si el nodo
+     * queda vacío se desenlaza, y si queda a menos de la mitad se funde con
+     * el siguiente cuando caben juntos. */
+    private T elimina(Nodo n, int i) {
+        T r = n.elimina(i);
+        longitud--;
+        if (n.cuenta == 0) {
+            desenlaza(n);
+        } else if (n.cuenta < capacidadNodo / 2 && n.siguiente != null &&
+                   n.cuenta + n.siguiente.cuenta <= capacidadNodo) {
+            Nodo m = n.siguiente;
+            System.arraycopy(m.elementos, 0, n.elementos, n.cuenta, m.cuenta);
+            n.cuenta += m.cuenta;
+            desenlaza(m);
+        }
+        return r;
+    }
+}
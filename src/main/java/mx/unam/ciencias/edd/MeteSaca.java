@@ -40,7 +40,9 @@ public abstract class MeteSaca<T> {
     public abstract void mete(T elemento);
 
     /**
-     * Elimina el elemento en un extremo de la estructura y lo regresa.
+     * Elimina el elemento en un extremo de la estructura y lo regresa. Las
+     * subclases meten sus elementos de forma que el elemento a sacar siempre
+     * está en la cabeza, así que el método es de tiempo constante.
      * @return el elemento en un extremo de la estructura.
      * @throws NoSuchElementException si la estructura está vacía.
      */
@@ -49,24 +51,13 @@ public abstract class MeteSaca<T> {
         if (esVacia())
             throw new NoSuchElementException();
 
-        if (cabeza.siguiente == null) {
-            T r = cabeza.elemento;
-            cabeza = null;
-            rabo = null;
-
-            return r;
-        }
-
-        Nodo n = cabeza;
-        
-        while (n.siguiente.siguiente != null)
-            n = n.siguiente;
+        T r = cabeza.elemento;
+        cabeza = cabeza.siguiente;
 
-        T r = n.siguiente.elemento;
-        n.siguiente = null;
+        if (cabeza == null)
+            rabo = null;
 
         return r;
-
     }
 
     /**
@@ -80,7 +71,7 @@ public abstract class MeteSaca<T> {
         if (esVacia())
             throw new NoSuchElementException();
 
-        return rabo.elemento;
+        return cabeza.elemento;
     }
 
     /**
@@ -11,56 +11,39 @@ public class Pila<T> extends MeteSaca<T> {
      */
     @Override public String toString() {
         // Aquí va su código.
-        String r = "";
+        StringBuilder r = new StringBuilder();
 
         Nodo n = cabeza;
 
         while (n != null) {
-            r = n.elemento + "\n" + r;
+            r.append(n.elemento).append("\n");
             n = n.siguiente;
         }
 
-        return r;
+        return r.toString();
     }
 
     /**
-     * Agrega un elemento al tope de la pila.
+     * Agrega un elemento al tope de la pila. El tope de la pila es la cabeza
+     * de la estructura.
      * @param elemento el elemento a agregar.
      * @throws IllegalArgumentException si <code>elemento</code> es
      *         <code>null</code>.
      */
     @Override public void mete(T elemento) {
         // Aquí va su código.
-
         if (elemento == null)
             throw new IllegalArgumentException();
 
         Nodo n = new Nodo(elemento);
 
-        /*
         if (esVacia()) {
             cabeza = n;
             rabo = n;
             return;
         }
 
-        Nodo aux = cabeza;
-
-        while (aux.siguiente != null)
-            aux = aux.siguiente;
-
-        aux.siguiente = n;
-        rabo = n;
-        */
-
-        if (esVacia()) {
-            cabeza = n;
-            rabo = n;
-            return;
-        }
-
-        rabo.siguiente = n;
-        rabo = n;
-
+        n.siguiente = cabeza;
+        cabeza = n;
     }
 }
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd.test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
@@ -310,6 +312,35 @@ public class TestArbolBinarioCompleto {
         Assert.assertTrue(arbol.toString().equals(cadena));
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinario#escribe}.
+     * @throws IOException si la salida lanza la excepción.
+     */
+    @Test public void testEscribe() throws IOException {
+        StringWriter salida = new StringWriter();
+        arbol.escribe(salida);
+        Assert.assertTrue(salida.toString().equals(""));
+        for (int i = 0; i < total; i++) {
+            arbol.agrega(random.nextInt(total));
+            salida = new StringWriter();
+            arbol.escribe(salida);
+            Assert.assertTrue(salida.toString().equals(arbol.toString()));
+        }
+        /* Un árbol grande se escribe en tiempo lineal. */
+        arbol = new ArbolBinarioCompleto<Integer>();
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        StringBuilder sb = new StringBuilder();
+        arbol.escribe(sb);
+        int renglones = 0;
+        for (int i = 0; i < sb.length(); i++)
+            if (sb.charAt(i) == '\n')
+                renglones++;
+        Assert.assertTrue(renglones == n);
+        Assert.assertTrue(sb.toString().startsWith("0\n├─›1\n│  ├─›3\n"));
+    }
+
     /**
      * Prueba unitaria para {@link ArbolBinarioCompleto#bfs}.
      */
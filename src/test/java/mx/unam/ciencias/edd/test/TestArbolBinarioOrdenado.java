@@ -1,6 +1,8 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.ArbolBinario;
@@ -119,6 +121,46 @@ public class TestArbolBinarioOrdenado {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#agregaTodos}, con
+     * corridas ordenadas y elementos fuera de orden.
+     */
+    @Test public void testAgregaTodos() {
+        List<Integer> conNull = new ArrayList<Integer>();
+        conNull.add(0);
+        conNull.add(null);
+        try {
+            arbol.agregaTodos(conNull);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(arbol.getElementos() == 1);
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(i / 2);
+        for (int i = 0; i < total; i++)
+            lista.agrega(random.nextInt(total));
+        for (int i = 0; i < total; i++)
+            lista.agrega(total / 2 + i);
+        arbol.agregaTodos(lista);
+        arbolBinarioOrdenadoValido(arbol);
+        lista.agrega(0);
+        Lista.ordena(lista);
+        Assert.assertTrue(arbol.getElementos() == lista.getLongitud());
+        Iterator<Integer> it = arbol.iterator();
+        for (Integer e : lista)
+            Assert.assertTrue(it.next().equals(e));
+        arbol.agrega(-1);
+        Assert.assertTrue(arbol.getUltimoVerticeAgregado().get() == -1);
+        arbolBinarioOrdenadoValido(arbol);
+        /* El constructor con colección sigue agregando uno por uno. */
+        lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(i);
+        arbol = new ArbolBinarioOrdenado<Integer>(lista);
+        Assert.assertTrue(arbol.altura() == total - 1);
+        Assert.assertTrue(arbol.getUltimoVerticeAgregado().get() == total - 1);
+    }
+
     /* Llena el árbol con elementos no repetidos. */
     private int[] arregloSinRepetidos() {
         int[] a = new int[total];
@@ -352,6 +394,155 @@ public class TestArbolBinarioOrdenado {
         Assert.assertTrue(!i1.hasNext() && !i2.hasNext());
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#iteradorDescendente}.
+     */
+    @Test public void testIteradorDescendente() {
+        Assert.assertFalse(arbol.iteradorDescendente().hasNext());
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(100);
+            arbol.agrega(n);
+            lista.agrega(n);
+        }
+        lista = Lista.mergeSort(lista).reversa();
+        Iterator<Integer> i1 = arbol.iteradorDescendente();
+        Iterator<Integer> i2 = lista.iterator();
+        while (i1.hasNext() && i2.hasNext())
+            Assert.assertTrue(i1.next().equals(i2.next()));
+        Assert.assertTrue(!i1.hasNext() && !i2.hasNext());
+        try {
+            i1.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#getPrimero} y {@link
+     * ArbolBinarioOrdenado#getUltimo}.
+     */
+    @Test public void testGetPrimeroYGetUltimo() {
+        try {
+            arbol.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            arbol.getUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            min = Math.min(min, n);
+            max = Math.max(max, n);
+            Assert.assertTrue(arbol.getPrimero() == min);
+            Assert.assertTrue(arbol.getUltimo() == max);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#piso}, {@link
+     * ArbolBinarioOrdenado#techo}, {@link ArbolBinarioOrdenado#anterior} y
+     * {@link ArbolBinarioOrdenado#siguiente}.
+     */
+    @Test public void testPisoTechoAnteriorSiguiente() {
+        Assert.assertTrue(arbol.piso(0) == null);
+        Assert.assertTrue(arbol.techo(0) == null);
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = 2 * random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        for (int e = -1; e <= 2 * total; e++) {
+            Integer piso = null, techo = null, anterior = null, siguiente = null;
+            for (int n : a) {
+                if (n <= e && (piso == null || n > piso))
+                    piso = n;
+                if (n >= e && (techo == null || n < techo))
+                    techo = n;
+                if (n < e && (anterior == null || n > anterior))
+                    anterior = n;
+                if (n > e && (siguiente == null || n < siguiente))
+                    siguiente = n;
+            }
+            Assert.assertTrue(piso == null ? arbol.piso(e) == null :
+                              piso.equals(arbol.piso(e)));
+            Assert.assertTrue(techo == null ? arbol.techo(e) == null :
+                              techo.equals(arbol.techo(e)));
+            Assert.assertTrue(anterior == null ? arbol.anterior(e) == null :
+                              anterior.equals(arbol.anterior(e)));
+            Assert.assertTrue(siguiente == null ? arbol.siguiente(e) == null :
+                              siguiente.equals(arbol.siguiente(e)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#intervalo}.
+     */
+    @Test public void testIntervalo() {
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            lista.agrega(n);
+        }
+        lista = Lista.mergeSort(lista);
+        for (int i = 0; i < total; i++) {
+            int desde = random.nextInt(total + 2) - 1;
+            int hasta = random.nextInt(total + 2) - 1;
+            Iterator<Integer> it = arbol.intervalo(desde, hasta).iterator();
+            for (Integer n : lista)
+                if (desde <= n && n < hasta)
+                    Assert.assertTrue(it.next().equals(n));
+            Assert.assertFalse(it.hasNext());
+            try {
+                it.next();
+                Assert.fail();
+            } catch (NoSuchElementException nsee) {}
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#descendente}.
+     */
+    @Test public void testDescendente() {
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            lista.agrega(n);
+        }
+        lista = Lista.mergeSort(lista).reversa();
+        Iterator<Integer> it = lista.iterator();
+        for (Integer n : arbol.descendente())
+            Assert.assertTrue(n.equals(it.next()));
+        Assert.assertFalse(it.hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#intervaloDescendente}.
+     */
+    @Test public void testIntervaloDescendente() {
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            lista.agrega(n);
+        }
+        lista = Lista.mergeSort(lista).reversa();
+        for (int i = 0; i < total; i++) {
+            int desde = random.nextInt(total + 2) - 1;
+            int hasta = random.nextInt(total + 2) - 1;
+            Iterator<Integer> it =
+                arbol.intervaloDescendente(desde, hasta).iterator();
+            for (Integer n : lista)
+                if (desde <= n && n < hasta)
+                    Assert.assertTrue(it.next().equals(n));
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+
     /**
      * Prueba unitaria para la implementación de {@link
      * VerticeArbolBinario#hayPadre}.
@@ -479,6 +670,29 @@ public class TestArbolBinarioOrdenado {
         }
     }
 
+    /**
+     * Prueba unitaria para la implementación de {@link
+     * VerticeArbolBinario#altura} al girar y eliminar.
+     */
+    @Test public void testVerticeAlturaGirosYEliminaciones() {
+        for (int i = 0; i < total; i++)
+            arbol.agrega(random.nextInt(total));
+        for (int i = 0; i < total; i++) {
+            VerticeArbolBinario<Integer> v = arbol.busca(random.nextInt(total));
+            if (v == null)
+                continue;
+            if (random.nextBoolean())
+                arbol.giraIzquierda(v);
+            else
+                arbol.giraDerecha(v);
+            UtilTestArbolBinario.alturasValidas(arbol);
+        }
+        for (int i = 0; i < total; i++) {
+            arbol.elimina(random.nextInt(total));
+            UtilTestArbolBinario.alturasValidas(arbol);
+        }
+    }
+
     /**
      * Prueba unitaria para la implementación de {@link
      * VerticeArbolBinario#profundidad}.
@@ -6,6 +6,7 @@ import mx.unam.ciencias.edd.ArbolBinario;
 import mx.unam.ciencias.edd.ArbolRojinegro;
 import mx.unam.ciencias.edd.Cola;
 import mx.unam.ciencias.edd.Color;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
 import mx.unam.ciencias.edd.Lista;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
 import org.junit.Assert;
@@ -21,6 +22,26 @@ public class TestArbolRojinegro {
     /** Expiración para que ninguna prueba tarde más de 5 segundos. */
     @Rule public Timeout expiracion = Timeout.seconds(5);
 
+    /* Llave que se compara sólo por su valor; dos llaves con el mismo valor
+     * son distintas para la condición de eliminaSi. */
+    private static class Llave implements Comparable<Llave> {
+        /* El valor con el que se compara la llave. */
+        private int valor;
+        /* El identificador de la llave. */
+        private int id;
+
+        /* Construye una llave. */
+        private Llave(int valor, int id) {
+            this.valor = valor;
+            this.id = id;
+        }
+
+        /* Compara las llaves por su valor. */
+        @Override public int compareTo(Llave llave) {
+            return Integer.compare(valor, llave.valor);
+        }
+    }
+
     /* Generador de números aleatorios. */
     private Random random;
     /* Número total de elementos. */
@@ -141,6 +162,58 @@ public class TestArbolRojinegro {
         Assert.assertTrue(!j.hasNext());
     }
 
+    /* Comprueba que el árbol sea rojinegro, tenga los elementos de la lista
+     * ordenada recibida, y esté perfectamente balanceado. */
+    private void balanceadoValido(Lista<Integer> ordenada) {
+        arbolRojinegroValido(arbol);
+        UtilTestArbolBinario.alturasValidas(arbol);
+        Assert.assertTrue(arbol.getElementos() == ordenada.getLongitud());
+        int n = ordenada.getLongitud();
+        int h = n == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(n);
+        Assert.assertTrue(arbol.altura() == h);
+        Iterator<Integer> i = ordenada.iterator();
+        Iterator<Integer> j = arbol.iterator();
+        while (i.hasNext() && j.hasNext())
+            Assert.assertTrue(i.next().equals(j.next()));
+        Assert.assertTrue(!i.hasNext() && !j.hasNext());
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#balanceado(Coleccion)} y
+     * {@link ArbolRojinegro#balanceado(Comparable[])}.
+     */
+    @Test public void testBalanceado() {
+        Lista<Integer> lista = new Lista<Integer>();
+        arbol = ArbolRojinegro.balanceado(lista);
+        balanceadoValido(lista);
+        Integer[] a = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            lista.agrega(a[i]);
+        }
+        Lista<Integer> ordenada = Lista.mergeSort(lista);
+        arbol = ArbolRojinegro.balanceado(lista);
+        balanceadoValido(ordenada);
+        arbol = ArbolRojinegro.balanceado(ordenada);
+        balanceadoValido(ordenada);
+        Integer[] b = a.clone();
+        arbol = ArbolRojinegro.balanceado(a);
+        balanceadoValido(ordenada);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(a[i].equals(b[i]));
+        for (int i = 0; i < total; i++) {
+            arbol.agrega(random.nextInt(total));
+            arbolRojinegroValido(arbol);
+        }
+        for (int i = 0; i < total; i++) {
+            arbol.elimina(a[i]);
+            arbolRojinegroValido(arbol);
+        }
+        Assert.assertTrue(arbol.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(arbol.selecciona(i) != null);
+    }
+
     /* Prueba determinísticamente el caso 1. */
     private void testAgregaCaso1() {
         arbol.agrega(1);
@@ -231,6 +304,105 @@ public class TestArbolRojinegro {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#agregaTodos}: con
+     * elementos ordenados, en orden inverso, al azar y ordenados en un árbol
+     * más grande, el árbol sigue siendo rojinegro y tiene los mismos
+     * elementos.
+     */
+    @Test public void testAgregaTodos() {
+        for (int k = 0; k < 4; k++) {
+            arbol = new ArbolRojinegro<Integer>();
+            Lista<Integer> todos = new Lista<Integer>();
+            /* Con un árbol más grande que la lista se usa el dedo. */
+            int n = k == 3 ? 20 * total : 1;
+            for (int i = 0; i < n; i++) {
+                int e = random.nextInt(total);
+                arbol.agrega(e);
+                todos.agrega(e);
+            }
+            Lista<Integer> lista = new Lista<Integer>();
+            for (int i = 0; i < 10 * total; i++)
+                lista.agrega(k == 1 ? total - i :
+                             k == 2 ? random.nextInt(total) : i / 3);
+            arbol.agregaTodos(lista);
+            arbolRojinegroValido(arbol);
+            todos.agregaTodos(lista);
+            Lista.ordena(todos);
+            Assert.assertTrue(arbol.getElementos() == todos.getLongitud());
+            Iterator<Integer> it = arbol.iterator();
+            for (Integer e : todos)
+                Assert.assertTrue(it.next().equals(e));
+            for (int i = 0; i < todos.getLongitud(); i++)
+                Assert.assertTrue(arbol.selecciona(i).equals(todos.get(i)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#eliminaSi}, {@link
+     * ArbolRojinegro#eliminaTodos} y {@link ArbolRojinegro#retieneTodos},
+     * eliminando pocos elementos (uno por uno) y muchos (reconstruyendo).
+     */
+    @Test public void testEliminaSi() {
+        Lista<Integer> todos = new Lista<Integer>();
+        for (int i = 0; i < 20 * total; i++)
+            todos.agrega(random.nextInt(10 * total));
+        arbol = new ArbolRojinegro<Integer>(todos);
+        Assert.assertTrue(arbol.eliminaSi(e -> e < 0) == 0);
+        Lista<Integer> pocos = new Lista<Integer>();
+        pocos.agrega(todos.get(0));
+        pocos.agrega(-1);
+        int n = todos.getLongitud();
+        todos.eliminaTodos(pocos);
+        Assert.assertTrue(arbol.eliminaTodos(pocos) ==
+                          n - todos.getLongitud());
+        arbolRojinegroValido(arbol);
+        n = todos.getLongitud();
+        todos.eliminaSi(e -> e % 2 == 0);
+        Assert.assertTrue(arbol.eliminaSi(e -> e % 2 == 0) ==
+                          n - todos.getLongitud());
+        arbolRojinegroValido(arbol);
+        Lista<Integer> conserva = new Lista<Integer>();
+        for (int i = 0; i < 10 * total; i += 3)
+            conserva.agrega(i);
+        n = todos.getLongitud();
+        todos.retieneTodos(conserva);
+        Assert.assertTrue(arbol.retieneTodos(conserva) ==
+                          n - todos.getLongitud());
+        arbolRojinegroValido(arbol);
+        Lista.ordena(todos);
+        Assert.assertTrue(arbol.getElementos() == todos.getLongitud());
+        Iterator<Integer> it = arbol.iterator();
+        for (Integer e : todos)
+            Assert.assertTrue(it.next().equals(e));
+        Assert.assertFalse(it.hasNext());
+    }
+
+    /**
+     * Prueba que {@link ArbolRojinegro#eliminaSi} elimina justamente los
+     * elementos que cumplen la condición, aunque haya otros iguales a ellos
+     * según <code>compareTo</code>, tanto eliminando pocos como muchos.
+     */
+    @Test public void testEliminaSiConIguales() {
+        for (int m : new int[] { 50, 2 }) {
+            ArbolRojinegro<Llave> llaves = new ArbolRojinegro<Llave>();
+            int n = 20 * total;
+            for (int i = 0; i < n; i++)
+                llaves.agrega(new Llave(random.nextInt(total / 4), i));
+            int eliminadas = (n + m - 1) / m;
+            Assert.assertTrue(llaves.eliminaSi(l -> l.id % m == 0) ==
+                              eliminadas);
+            arbolRojinegroValido(llaves);
+            Assert.assertTrue(llaves.getElementos() == n - eliminadas);
+            int c = 0;
+            for (Llave l : llaves) {
+                Assert.assertTrue(l.id % m != 0);
+                c++;
+            }
+            Assert.assertTrue(c == n - eliminadas);
+        }
+    }
+
     /* Prueba determinísticamente el caso negro-rojo. */
     private void testEliminaNegroRojo() {
         arbol = new ArbolRojinegro<Integer>();
@@ -456,6 +628,96 @@ public class TestArbolRojinegro {
         }
     }
 
+    /**
+     * Prueba unitaria para la implementación de {@link
+     * VerticeArbolBinario#altura} en árboles rojinegros, que tienen que
+     * mantener las alturas al girar y al eliminar.
+     */
+    @Test public void testVerticeAltura() {
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            lista.agrega(n);
+            UtilTestArbolBinario.alturasValidas(arbol);
+        }
+        for (Integer n : lista) {
+            arbol.elimina(n);
+            UtilTestArbolBinario.alturasValidas(arbol);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#selecciona}.
+     */
+    @Test public void testSelecciona() {
+        try {
+            arbol.selecciona(0);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int n = random.nextInt(total);
+            arbol.agrega(n);
+            lista.agrega(n);
+        }
+        for (int i = 0; i < total / 2; i++) {
+            int n = lista.get(random.nextInt(lista.getLongitud()));
+            arbol.elimina(n);
+            lista.elimina(n);
+        }
+        lista = Lista.mergeSort(lista);
+        for (int i = 0; i < lista.getLongitud(); i++)
+            Assert.assertTrue(arbol.selecciona(i).equals(lista.get(i)));
+        try {
+            arbol.selecciona(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            arbol.selecciona(lista.getLongitud());
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#cuentaMenores}.
+     */
+    @Test public void testCuentaMenores() {
+        Assert.assertTrue(arbol.cuentaMenores(0) == 0);
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        for (int e = -1; e <= total; e++) {
+            int menores = 0;
+            for (int n : a)
+                if (n < e)
+                    menores++;
+            Assert.assertTrue(arbol.cuentaMenores(e) == menores);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#cuentaEnIntervalo}.
+     */
+    @Test public void testCuentaEnIntervalo() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        for (int i = 0; i < total; i++) {
+            int desde = random.nextInt(total + 2) - 1;
+            int hasta = random.nextInt(total + 2) - 1;
+            int c = 0;
+            for (int n : a)
+                if (desde <= n && n < hasta)
+                    c++;
+            Assert.assertTrue(arbol.cuentaEnIntervalo(desde, hasta) == c);
+        }
+    }
+
     /**
      * Prueba unitaria para {@link ArbolRojinegro#getColor}.
      */
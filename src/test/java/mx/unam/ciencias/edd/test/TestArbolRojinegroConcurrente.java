@@ -0,0 +1,288 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ArbolRojinegroConcurrente;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArbolRojinegroConcurrente}.
+ */
+public class TestArbolRojinegroConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El árbol. */
+    private ArbolRojinegroConcurrente<Integer> arbol;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número total
+     * de elementos para nuestro árbol, y un árbol.
+     */
+    public TestArbolRojinegroConcurrente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        arbol = new ArbolRojinegroConcurrente<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para los métodos de {@link ArbolRojinegroConcurrente}
+     * usados desde una sola hebra: se tienen que comportar como los de {@link
+     * ArbolRojinegro}.
+     */
+    @Test public void testUnaHebra() {
+        Assert.assertTrue(arbol.esVacia());
+        Assert.assertTrue(arbol.getElementos() == 0);
+        Assert.assertFalse(arbol.iterator().hasNext());
+        try {
+            arbol.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        ArbolRojinegro<Integer> esperado = new ArbolRojinegro<Integer>();
+        for (int i = 0; i < 4 * total; i++) {
+            int e = random.nextInt(total);
+            if (random.nextInt(3) == 0) {
+                arbol.elimina(e);
+                esperado.elimina(e);
+            } else {
+                arbol.agrega(e);
+                esperado.agrega(e);
+            }
+            Assert.assertTrue(arbol.getElementos() ==
+                              esperado.getElementos());
+            Assert.assertTrue(arbol.esVacia() == esperado.esVacia());
+            Assert.assertTrue(arbol.altura() == esperado.altura());
+            Assert.assertTrue(arbol.toString().equals(esperado.toString()));
+            for (int j = -1; j <= total; j++) {
+                Assert.assertTrue(arbol.contiene(j) == esperado.contiene(j));
+                Integer b = arbol.busca(j);
+                Assert.assertTrue(b == null ? !esperado.contiene(j)
+                                  : b.equals(j));
+                Assert.assertTrue(arbol.cuentaMenores(j) ==
+                                  esperado.cuentaMenores(j));
+            }
+        }
+        Iterator<Integer> it = esperado.iterator();
+        int k = 0;
+        for (Integer e : arbol) {
+            Assert.assertTrue(e.equals(it.next()));
+            Assert.assertTrue(arbol.selecciona(k++).equals(e));
+        }
+        Assert.assertFalse(it.hasNext());
+        if (!esperado.esVacia()) {
+            Assert.assertTrue(arbol.getPrimero()
+                              .equals(esperado.getPrimero()));
+            Assert.assertTrue(arbol.getUltimo().equals(esperado.getUltimo()));
+        }
+        arbol.limpia();
+        Assert.assertTrue(arbol.esVacia());
+        Assert.assertTrue(arbol.busca(0) == null);
+        try {
+            arbol.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroConcurrente#agregaTodos},
+     * {@link ArbolRojinegroConcurrente#eliminaSi}, {@link
+     * ArbolRojinegroConcurrente#eliminaTodos} y {@link
+     * ArbolRojinegroConcurrente#retieneTodos}, incluso con el mismo árbol
+     * como argumento.
+     */
+    @Test public void testOperacionesEnLote() {
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(i);
+        arbol.agregaTodos(lista);
+        Assert.assertTrue(arbol.getElementos() == total);
+        Assert.assertTrue(arbol.retieneTodos(arbol) == 0);
+        Assert.assertTrue(arbol.eliminaSi(e -> e % 2 == 1) == total / 2);
+        lista.eliminaSi(e -> e % 2 == 1);
+        Iterator<Integer> it = arbol.iterator();
+        for (Integer e : lista)
+            Assert.assertTrue(it.next().equals(e));
+        Assert.assertFalse(it.hasNext());
+        Assert.assertTrue(arbol.eliminaTodos(lista) == lista.getLongitud());
+        Assert.assertTrue(arbol.esVacia());
+        arbol.agregaTodos(lista);
+        Assert.assertTrue(arbol.eliminaTodos(arbol) == lista.getLongitud());
+        Assert.assertTrue(arbol.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * ArbolRojinegroConcurrente#ArbolRojinegroConcurrente(Coleccion)}.
+     */
+    @Test public void testConstructorColeccion() {
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(random.nextInt(total));
+        arbol = new ArbolRojinegroConcurrente<Integer>(lista);
+        Assert.assertTrue(arbol.getElementos() == total);
+        for (Integer e : lista)
+            Assert.assertTrue(arbol.contiene(e));
+        Lista.ordena(lista);
+        Iterator<Integer> it = lista.iterator();
+        for (Integer e : arbol)
+            Assert.assertTrue(e.equals(it.next()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroConcurrente#iterator}: el
+     * iterador no ve las modificaciones posteriores a su creación.
+     */
+    @Test public void testIteradorCopia() {
+        for (int i = 0; i < total; i++)
+            arbol.agrega(i);
+        Iterator<Integer> it = arbol.iterator();
+        arbol.limpia();
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(it.next() == i);
+        Assert.assertFalse(it.hasNext());
+        try {
+            it.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba que dos árboles que al mismo tiempo eliminan uno los elementos
+     * del otro no se bloquean entre sí.
+     * @throws InterruptedException si la hebra es interrumpida.
+     */
+    @Test public void testEliminaTodosCruzado() throws InterruptedException {
+        ArbolRojinegroConcurrente<Integer> otro =
+            new ArbolRojinegroConcurrente<Integer>();
+        Thread[] hebras = new Thread[2];
+        for (int t = 0; t < hebras.length; t++) {
+            ArbolRojinegroConcurrente<Integer> a = t == 0 ? arbol : otro;
+            ArbolRojinegroConcurrente<Integer> b = t == 0 ? otro : arbol;
+            hebras[t] = new Thread(() -> {
+                    for (int k = 0; k < 2000; k++) {
+                        a.agrega(k % total);
+                        a.eliminaTodos(b);
+                        a.retieneTodos(b);
+                    }
+                });
+        }
+        for (Thread t : hebras)
+            t.start();
+        for (Thread t : hebras)
+            t.join();
+        Assert.assertTrue(arbol.retieneTodos(arbol) == 0);
+        otro.agrega(0);
+        arbol.limpia();
+        arbol.agrega(0);
+        arbol.agrega(1);
+        Assert.assertTrue(arbol.eliminaTodos(otro) == 1);
+        Assert.assertTrue(arbol.contiene(1));
+    }
+
+    /**
+     * Prueba que {@link ArbolRojinegroConcurrente#agregaTodos} con el mismo
+     * árbol como argumento no se bloquea y duplica sus elementos.
+     */
+    @Test public void testAgregaTodosMismoArbol() {
+        for (int i = 0; i < total; i++)
+            arbol.agrega(i);
+        arbol.agregaTodos(arbol);
+        Assert.assertTrue(arbol.getElementos() == 2 * total);
+        int i = 0;
+        for (Integer e : arbol)
+            Assert.assertTrue(e.equals(i++ / 2));
+    }
+
+    /**
+     * Prueba que dos árboles que al mismo tiempo se agregan uno los elementos
+     * del otro no se bloquean entre sí.
+     * @throws InterruptedException si la hebra es interrumpida.
+     */
+    @Test public void testAgregaTodosCruzado() throws InterruptedException {
+        ArbolRojinegroConcurrente<Integer> otro =
+            new ArbolRojinegroConcurrente<Integer>();
+        Thread[] hebras = new Thread[2];
+        for (int t = 0; t < hebras.length; t++) {
+            ArbolRojinegroConcurrente<Integer> a = t == 0 ? arbol : otro;
+            ArbolRojinegroConcurrente<Integer> b = t == 0 ? otro : arbol;
+            hebras[t] = new Thread(() -> {
+                    for (int k = 0; k < 2000; k++) {
+                        a.agrega(k % total);
+                        a.agregaTodos(b);
+                        a.limpia();
+                    }
+                });
+        }
+        for (Thread t : hebras)
+            t.start();
+        for (Thread t : hebras)
+            t.join();
+        Assert.assertTrue(arbol.esVacia());
+        Assert.assertTrue(otro.esVacia());
+    }
+
+    /**
+     * Prueba varios lectores concurrentes con un escritor: los elementos que
+     * el escritor nunca toca siempre tienen que encontrarse, y los que nunca
+     * se agregan nunca.
+     * @throws InterruptedException si la hebra es interrumpida.
+     */
+    @Test public void testLectoresYEscritor() throws InterruptedException {
+        int n = 1 << 12;
+        /* Los pares siempre están; los impares entran y salen; los
+         * negativos nunca están. */
+        for (int i = 0; i < n; i += 2)
+            arbol.agrega(i);
+        AtomicBoolean termina = new AtomicBoolean();
+        AtomicBoolean error = new AtomicBoolean();
+        Thread escritor = new Thread(() -> {
+                Random r = new Random();
+                while (!termina.get()) {
+                    int e = 2 * r.nextInt(n / 2) + 1;
+                    if (r.nextBoolean())
+                        arbol.agrega(e);
+                    else
+                        arbol.elimina(e);
+                }
+            });
+        Thread[] lectores = new Thread[4];
+        for (int t = 0; t < lectores.length; t++) {
+            lectores[t] = new Thread(() -> {
+                    Random r = new Random();
+                    while (!termina.get()) {
+                        int e = 2 * r.nextInt(n / 2);
+                        if (!arbol.contiene(e) || arbol.contiene(-e - 1) ||
+                            !arbol.busca(e).equals(e))
+                            error.set(true);
+                        arbol.contiene(e + 1);
+                    }
+                });
+        }
+        escritor.start();
+        for (Thread t : lectores)
+            t.start();
+        Thread.sleep(1000);
+        termina.set(true);
+        escritor.join();
+        for (Thread t : lectores)
+            t.join();
+        Assert.assertFalse(error.get());
+        int anterior = Integer.MIN_VALUE;
+        for (Integer e : arbol) {
+            Assert.assertTrue(anterior <= e);
+            anterior = e;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolRojinegroPersistente;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArbolRojinegroPersistente}.
+ */
+public class TestArbolRojinegroPersistente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El árbol. */
+    private ArbolRojinegroPersistente<Integer> arbol;
+
+    /* Valida que el árbol tenga exactamente los elementos de la lista
+     * ordenada, y que su altura sea a lo más 2 log(n + 1). */
+    private static void valida(ArbolRojinegroPersistente<Integer> arbol,
+                               List<Integer> ordenada) {
+        int n = ordenada.size();
+        Assert.assertTrue(arbol.getElementos() == n);
+        Assert.assertTrue(arbol.esVacia() == (n == 0));
+        Assert.assertTrue(arbol.altura() <=
+                          2 * (Math.log(n + 1) / Math.log(2)));
+        Iterator<Integer> it = arbol.iterator();
+        for (Integer e : ordenada)
+            Assert.assertTrue(it.next().equals(e));
+        Assert.assertFalse(it.hasNext());
+        Assert.assertTrue(arbol.toString().equals(ordenada.toString()));
+    }
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número total
+     * de elementos para nuestro árbol, y un árbol.
+     */
+    public TestArbolRojinegroPersistente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        arbol = new ArbolRojinegroPersistente<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroPersistente#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            arbol.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        List<Integer> ordenada = new ArrayList<Integer>();
+        valida(arbol, ordenada);
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt(total);
+            arbol = arbol.agrega(e);
+            ordenada.add(e);
+            Collections.sort(ordenada);
+            valida(arbol, ordenada);
+            Assert.assertTrue(arbol.contiene(e));
+        }
+        /* Con elementos ordenados el árbol sigue balanceado. */
+        arbol = new ArbolRojinegroPersistente<Integer>();
+        ordenada.clear();
+        for (int i = 0; i < 1000; i++) {
+            arbol = arbol.agrega(i);
+            ordenada.add(i);
+        }
+        valida(arbol, ordenada);
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroPersistente#elimina}.
+     */
+    @Test public void testElimina() {
+        List<Integer> ordenada = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt(total);
+            arbol = arbol.agrega(e);
+            ordenada.add(e);
+        }
+        Collections.sort(ordenada);
+        Assert.assertTrue(arbol.elimina(-1) == arbol);
+        Assert.assertTrue(arbol.elimina(null) == arbol);
+        while (!ordenada.isEmpty()) {
+            Integer e = ordenada.get(random.nextInt(ordenada.size()));
+            arbol = arbol.elimina(e);
+            ordenada.remove(e);
+            valida(arbol, ordenada);
+            Assert.assertTrue(arbol.contiene(e) == ordenada.contains(e));
+        }
+        Assert.assertTrue(arbol.esVacia());
+    }
+
+    /**
+     * Prueba que las versiones anteriores del árbol no cambian al crear
+     * versiones nuevas.
+     */
+    @Test public void testPersistencia() {
+        List<ArbolRojinegroPersistente<Integer>> versiones =
+            new ArrayList<ArbolRojinegroPersistente<Integer>>();
+        List<List<Integer>> esperadas = new ArrayList<List<Integer>>();
+        List<Integer> ordenada = new ArrayList<Integer>();
+        for (int i = 0; i < 10 * total; i++) {
+            versiones.add(arbol);
+            esperadas.add(new ArrayList<Integer>(ordenada));
+            Integer e = random.nextInt(total);
+            if (random.nextInt(3) == 0) {
+                arbol = arbol.elimina(e);
+                ordenada.remove(e);
+            } else {
+                arbol = arbol.agrega(e);
+                ordenada.add(e);
+                Collections.sort(ordenada);
+            }
+        }
+        for (int i = 0; i < versiones.size(); i++)
+            valida(versiones.get(i), esperadas.get(i));
+        valida(arbol, ordenada);
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroPersistente#selecciona},
+     * {@link ArbolRojinegroPersistente#cuentaMenores}, {@link
+     * ArbolRojinegroPersistente#getPrimero} y {@link
+     * ArbolRojinegroPersistente#getUltimo}.
+     */
+    @Test public void testEstadisticosDeOrden() {
+        try {
+            arbol.getPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            arbol.getUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        Lista<Integer> lista = new Lista<Integer>();
+        for (int i = 0; i < total; i++)
+            lista.agrega(random.nextInt(total));
+        arbol = new ArbolRojinegroPersistente<Integer>(lista);
+        Lista.ordena(lista);
+        Assert.assertTrue(arbol.getPrimero().equals(lista.getPrimero()));
+        Assert.assertTrue(arbol.getUltimo().equals(lista.getUltimo()));
+        for (int k = 0; k < total; k++)
+            Assert.assertTrue(arbol.selecciona(k).equals(lista.get(k)));
+        for (int e = -1; e <= total; e++) {
+            int menores = 0;
+            for (Integer f : lista)
+                if (f < e)
+                    menores++;
+            Assert.assertTrue(arbol.cuentaMenores(e) == menores);
+        }
+        try {
+            arbol.selecciona(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+}
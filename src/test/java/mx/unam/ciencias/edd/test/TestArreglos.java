@@ -1,6 +1,8 @@
 package mx.unam.ciencias.edd.test;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import mx.unam.ciencias.edd.Arreglos;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -67,6 +69,216 @@ public class TestArreglos {
         Assert.assertTrue(estaOrdenado(arreglo));
     }
 
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(Comparable[])} con
+     * entradas grandes que degeneran una elección ingenua del pivote:
+     * ordenadas, invertidas, con todos los elementos iguales, y en forma de
+     * montaña.
+     */
+    @Test public void testQuickSortEntradasDegeneradas() {
+        int n = 100000;
+        Integer[] ordenado = new Integer[n];
+        Integer[] invertido = new Integer[n];
+        Integer[] iguales = new Integer[n];
+        Integer[] montana = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ordenado[i] = i;
+            invertido[i] = n - i;
+            iguales[i] = 7;
+            montana[i] = Math.min(i, n - i);
+        }
+        for (Integer[] a : new Integer[][] { ordenado, invertido,
+                                             iguales, montana }) {
+            Arreglos.quickSort(a);
+            Assert.assertTrue(estaOrdenado(a));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSortTresVias(Comparable[])}.
+     */
+    @Test public void testQuickSortTresVias() {
+        arreglo[0] = 1;
+        arreglo[1] = 0;
+        for (int i = 2; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Assert.assertFalse(estaOrdenado(arreglo));
+        Arreglos.quickSortTresVias(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        int n = 100000;
+        Integer[] repetidos = new Integer[n];
+        Integer[] iguales = new Integer[n];
+        Integer[] ordenado = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            repetidos[i] = random.nextInt(10);
+            iguales[i] = 7;
+            ordenado[i] = i;
+        }
+        for (Integer[] a : new Integer[][] { repetidos, iguales, ordenado }) {
+            Arreglos.quickSortTresVias(a);
+            Assert.assertTrue(estaOrdenado(a));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * Arreglos#quickSortTresVias(Object[],Comparator)}.
+     */
+    @Test public void testQuickSortTresViasComparator() {
+        arreglo[0] = 1;
+        arreglo[1] = 0;
+        for (int i = 2; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Assert.assertFalse(estaOrdenado(arreglo));
+        Arreglos.quickSortTresVias(arreglo, (a, b) -> a.compareTo(b));
+        Assert.assertTrue(estaOrdenado(arreglo));
+        Arreglos.quickSortTresVias(arreglo, (a, b) -> b.compareTo(a));
+        for (int i = 1; i < total; i++)
+            Assert.assertTrue(arreglo[i-1] >= arreglo[i]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#mergeSort(Comparable[])}.
+     */
+    @Test public void testMergeSort() {
+        arreglo[0] = 1;
+        arreglo[1] = 0;
+        for (int i = 2; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Assert.assertFalse(estaOrdenado(arreglo));
+        Arreglos.mergeSort(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        int n = 100000;
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = random.nextInt(n);
+        Arreglos.mergeSort(a);
+        Assert.assertTrue(estaOrdenado(a));
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#mergeSort(Object[],Comparator)}:
+     * el ordenamiento es estable.
+     */
+    @Test public void testMergeSortComparator() {
+        /* Ordenamos índices por su residuo módulo 10; si el ordenamiento es
+         * estable, los índices con el mismo residuo quedan en orden. */
+        int n = 1000 + random.nextInt(100000);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = i;
+        Arreglos.mergeSort(a, (x, y) -> x % 10 - y % 10);
+        for (int i = 1; i < n; i++) {
+            int r = a[i-1] % 10 - a[i] % 10;
+            Assert.assertTrue(r < 0 || (r == 0 && a[i-1] < a[i]));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#mergeSort(Object[],Comparator)}
+     * con entradas casi ordenadas: el número de comparaciones es casi
+     * lineal.
+     */
+    @Test public void testMergeSortCasiOrdenado() {
+        int n = 100000;
+        Integer[] ordenado = new Integer[n];
+        Integer[] invertido = new Integer[n];
+        Integer[] corridas = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ordenado[i] = i;
+            invertido[i] = n - i;
+            corridas[i] = (i % 1000) * n + i;
+        }
+        int[] comparaciones = { 0 };
+        for (Integer[] a : new Integer[][] { ordenado, invertido }) {
+            comparaciones[0] = 0;
+            Arreglos.mergeSort(a, (x, y) -> {
+                    comparaciones[0]++;
+                    return x.compareTo(y);
+                });
+            Assert.assertTrue(estaOrdenado(a));
+            Assert.assertTrue(comparaciones[0] < n);
+        }
+        /* 100 corridas ordenadas de 1000 elementos intercaladas. */
+        comparaciones[0] = 0;
+        Arreglos.mergeSort(corridas, (x, y) -> {
+                comparaciones[0]++;
+                return x.compareTo(y);
+            });
+        Assert.assertTrue(estaOrdenado(corridas));
+        Assert.assertTrue(comparaciones[0] < 10 * n);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSortParalelo(Comparable[])} y
+     * {@link Arreglos#quickSortParalelo(Object[],Comparator,ForkJoinPool)}.
+     */
+    @Test public void testQuickSortParalelo() {
+        arreglo[0] = 1;
+        arreglo[1] = 0;
+        for (int i = 2; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.quickSortParalelo(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        int n = 100000 + random.nextInt(100000);
+        Integer[] a = new Integer[n];
+        Integer[] ordenado = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextInt(n);
+            ordenado[i] = i;
+        }
+        ForkJoinPool alberca = new ForkJoinPool(4);
+        try {
+            Arreglos.quickSortParalelo(a, (x, y) -> x.compareTo(y), alberca);
+            Arreglos.quickSortParalelo(ordenado, (x, y) -> y.compareTo(x),
+                                       alberca);
+        } finally {
+            alberca.shutdown();
+        }
+        Assert.assertTrue(estaOrdenado(a));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(ordenado[i] == n - 1 - i);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#mergeSortParalelo(Comparable[])} y
+     * {@link Arreglos#mergeSortParalelo(Object[],Comparator,ForkJoinPool)}.
+     */
+    @Test public void testMergeSortParalelo() {
+        arreglo[0] = 1;
+        arreglo[1] = 0;
+        for (int i = 2; i < total; i++)
+            arreglo[i] = random.nextInt(total);
+        Arreglos.mergeSortParalelo(arreglo);
+        Assert.assertTrue(estaOrdenado(arreglo));
+        /* Ordenamos índices por su residuo módulo 100; si el ordenamiento es
+         * estable, los índices con el mismo residuo quedan en orden. */
+        int n = 100000 + random.nextInt(100000);
+        Integer[] a = new Integer[n];
+        for (int i = 0; i < n; i++)
+            a[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+        Arreglos.mergeSortParalelo(a, (x, y) -> x.compareTo(y));
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(a[i] == i);
+        ForkJoinPool alberca = new ForkJoinPool(4);
+        try {
+            Arreglos.mergeSortParalelo(a, (x, y) -> x % 100 - y % 100,
+                                       alberca);
+        } finally {
+            alberca.shutdown();
+        }
+        for (int i = 1; i < n; i++) {
+            int r = a[i-1] % 100 - a[i] % 100;
+            Assert.assertTrue(r < 0 || (r == 0 && a[i-1] < a[i]));
+        }
+    }
+
     /**
      * Prueba unitaria para {@link Arreglos#selectionSort(Comparable[])}.
      */
@@ -120,4 +332,110 @@ public class TestArreglos {
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini - 1) == -1);
         Assert.assertTrue(Arreglos.busquedaBinaria(arreglo, ini + total) == -1);
     }
+
+    /* Genera un arreglo de enteros con muchos repetidos, o ya ordenado. */
+    private int[] enteros() {
+        int n = 1000 + random.nextInt(1000);
+        int[] a = new int[n];
+        boolean ordenado = random.nextBoolean();
+        for (int i = 0; i < n; i++)
+            a[i] = ordenado ? i : random.nextInt(n / 2) - n / 4;
+        return a;
+    }
+
+    /* Genera un arreglo de enteros largos fuera del rango de los enteros. */
+    private long[] largos() {
+        int[] e = enteros();
+        long[] a = new long[e.length];
+        for (int i = 0; i < e.length; i++)
+            a[i] = e[i] * 0x100000000L + random.nextInt(2);
+        return a;
+    }
+
+    /* Genera un arreglo de dobles con NaN, infinitos y ceros negativos. */
+    private double[] dobles() {
+        double[] especiales = { Double.NaN, Double.NEGATIVE_INFINITY,
+                                Double.POSITIVE_INFINITY, -0.0, 0.0 };
+        int[] e = enteros();
+        double[] a = new double[e.length];
+        for (int i = 0; i < e.length; i++)
+            a[i] = random.nextInt(10) == 0 ?
+                especiales[random.nextInt(especiales.length)] : e[i] / 4.0;
+        return a;
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#quickSort(int[])}, {@link
+     * Arreglos#quickSort(long[])} y {@link Arreglos#quickSort(double[])}.
+     */
+    @Test public void testQuickSortPrimitivos() {
+        int[] a = enteros();
+        int[] ea = a.clone();
+        Arreglos.quickSort(a);
+        Arrays.sort(ea);
+        Assert.assertArrayEquals(ea, a);
+        long[] b = largos();
+        long[] eb = b.clone();
+        Arreglos.quickSort(b);
+        Arrays.sort(eb);
+        Assert.assertArrayEquals(eb, b);
+        double[] c = dobles();
+        double[] ec = c.clone();
+        Arreglos.quickSort(c);
+        Arrays.sort(ec);
+        Assert.assertArrayEquals(ec, c, 0.0);
+        Arreglos.quickSort(new int[0]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#mergeSort(int[])}, {@link
+     * Arreglos#mergeSort(long[])} y {@link Arreglos#mergeSort(double[])}.
+     */
+    @Test public void testMergeSortPrimitivos() {
+        int[] a = enteros();
+        int[] ea = a.clone();
+        Arreglos.mergeSort(a);
+        Arrays.sort(ea);
+        Assert.assertArrayEquals(ea, a);
+        long[] b = largos();
+        long[] eb = b.clone();
+        Arreglos.mergeSort(b);
+        Arrays.sort(eb);
+        Assert.assertArrayEquals(eb, b);
+        double[] c = dobles();
+        double[] ec = c.clone();
+        Arreglos.mergeSort(c);
+        Arrays.sort(ec);
+        Assert.assertArrayEquals(ec, c, 0.0);
+        Arreglos.mergeSort(new int[0]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Arreglos#busquedaBinaria(int[],int)},
+     * {@link Arreglos#busquedaBinaria(long[],long)} y {@link
+     * Arreglos#busquedaBinaria(double[],double)}.
+     */
+    @Test public void testBusquedaBinariaPrimitivos() {
+        int ini = random.nextInt(total);
+        int[] a = new int[total];
+        long[] b = new long[total];
+        double[] c = new double[total + 1];
+        for (int i = 0; i < total; i++) {
+            a[i] = ini + i;
+            b[i] = (ini + i) * 0x100000000L;
+            c[i] = (ini + i) / 2.0;
+        }
+        c[total] = Double.NaN;
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(Arreglos.busquedaBinaria(a, a[i]) == i);
+            Assert.assertTrue(Arreglos.busquedaBinaria(b, b[i]) == i);
+            Assert.assertTrue(Arreglos.busquedaBinaria(c, c[i]) == i);
+        }
+        Assert.assertTrue(Arreglos.busquedaBinaria(a, ini - 1) == -1);
+        Assert.assertTrue(Arreglos.busquedaBinaria(a, ini + total) == -1);
+        Assert.assertTrue(Arreglos.busquedaBinaria(b, b[0] + 1) == -1);
+        Assert.assertTrue(Arreglos.busquedaBinaria(c, c[0] + 0.25) == -1);
+        Assert.assertTrue(Arreglos.busquedaBinaria(c, Double.NaN) == total);
+        Assert.assertTrue(Arreglos.busquedaBinaria(new int[0], 0) == -1);
+    }
 }
@@ -0,0 +1,195 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ColaConcurrente;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaConcurrente}.
+ */
+public class TestColaConcurrente {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La cola. */
+    private ColaConcurrente<Integer> cola;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un
+     * número total de elementos para nuestra cola, y una cola.
+     */
+    public TestColaConcurrente() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        cola = new ColaConcurrente<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#ColaConcurrente}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.intentaSacar() == null);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#mete}, {@link
+     * ColaConcurrente#saca} y {@link ColaConcurrente#mira}.
+     */
+    @Test public void testMeteSaca() {
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            cola.mete(i);
+            Assert.assertTrue(cola.mira().equals(0));
+        }
+        for (int i = 0; i < total; i++) {
+            Assert.assertFalse(cola.esVacia());
+            Assert.assertTrue(cola.mira().equals(i));
+            Assert.assertTrue(cola.saca().equals(i));
+        }
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.intentaSacar() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#drena}.
+     */
+    @Test public void testDrena() {
+        Lista<Integer> lista = new Lista<Integer>();
+        Assert.assertTrue(cola.drena(lista) == 0);
+        for (int i = 0; i < total; i++)
+            cola.mete(i);
+        Assert.assertTrue(cola.drena(lista, 5) == 5);
+        Assert.assertTrue(cola.mira().equals(5));
+        Assert.assertTrue(cola.drena(lista) == total - 5);
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(lista.getLongitud() == total);
+        int i = 0;
+        for (Integer e : lista)
+            Assert.assertTrue(e.equals(i++));
+    }
+
+    /**
+     * Prueba que si la colección de {@link ColaConcurrente#drena} lanza una
+     * excepción, los elementos que no se alcanzaron a sacar se quedan en la
+     * cola y pueden sacarse.
+     */
+    @Test public void testDrenaConExcepcion() {
+        Lista<Integer> lista = new Lista<Integer>() {
+                @Override public void agrega(Integer elemento) {
+                    if (getLongitud() == 3)
+                        throw new IllegalStateException();
+                    super.agrega(elemento);
+                }
+            };
+        for (int i = 0; i < total; i++)
+            cola.mete(i);
+        try {
+            cola.drena(lista);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        Assert.assertTrue(lista.getLongitud() == 3);
+        for (int i = 4; i < total; i++) {
+            Assert.assertFalse(cola.esVacia());
+            Assert.assertTrue(cola.intentaSacar().equals(i));
+        }
+        Assert.assertTrue(cola.esVacia());
+        Assert.assertTrue(cola.intentaSacar() == null);
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaConcurrente#sacaBloqueando} y {@link
+     * ColaConcurrente#intentaSacar(long,TimeUnit)}.
+     */
+    @Test public void testSacaBloqueando() throws InterruptedException {
+        Assert.assertTrue(cola.intentaSacar(10, TimeUnit.MILLISECONDS)
+                          == null);
+        Thread productor = new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ie) {}
+                cola.mete(total);
+            });
+        productor.start();
+        Assert.assertTrue(cola.sacaBloqueando().equals(total));
+        productor.join();
+        Assert.assertTrue(cola.esVacia());
+    }
+
+    /**
+     * Prueba que con varios productores y consumidores cada elemento se saca
+     * exactamente una vez, y que los elementos de cada productor salen en el
+     * orden en que se metieron.
+     */
+    @Test public void testProductoresConsumidores()
+        throws InterruptedException {
+        int hebras = 4;
+        int n = 20000;
+        int[] vistos = new int[hebras * n];
+        Thread[] productores = new Thread[hebras];
+        Thread[] consumidores = new Thread[hebras];
+        boolean[] enOrden = new boolean[hebras];
+        for (int i = 0; i < hebras; i++) {
+            int p = i;
+            productores[i] = new Thread(() -> {
+                    for (int j = 0; j < n; j++)
+                        cola.mete(p * n + j);
+                });
+            int c = i;
+            consumidores[i] = new Thread(() -> {
+                    int[] ultimos = new int[hebras];
+                    Arrays.fill(ultimos, -1);
+                    enOrden[c] = true;
+                    try {
+                        for (int j = 0; j < n; j++) {
+                            int e = cola.sacaBloqueando();
+                            synchronized (vistos) {
+                                vistos[e]++;
+                            }
+                            if (e % n <= ultimos[e / n])
+                                enOrden[c] = false;
+                            ultimos[e / n] = e % n;
+                        }
+                    } catch (InterruptedException ie) {
+                        enOrden[c] = false;
+                    }
+                });
+        }
+        for (int i = 0; i < hebras; i++) {
+            consumidores[i].start();
+            productores[i].start();
+        }
+        for (int i = 0; i < hebras; i++) {
+            productores[i].join();
+            consumidores[i].join();
+        }
+        for (int i = 0; i < hebras; i++)
+            Assert.assertTrue(enOrden[i]);
+        for (int v : vistos)
+            Assert.assertTrue(v == 1);
+        Assert.assertTrue(cola.esVacia());
+    }
+}
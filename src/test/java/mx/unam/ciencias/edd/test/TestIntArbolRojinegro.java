@@ -0,0 +1,190 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.IntArbolRojinegro;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link IntArbolRojinegro}.
+ */
+public class TestIntArbolRojinegro {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El árbol. */
+    private IntArbolRojinegro arbol;
+
+    /* Valida que la altura del árbol sea a lo más 2·log₂(n+1). */
+    private static void alturaValida(IntArbolRojinegro arbol) {
+        int n = arbol.getElementos();
+        double cota = 2 * Math.log(n + 1) / Math.log(2);
+        Assert.assertTrue(arbol.altura() <= cota);
+    }
+
+    /* Valida que el árbol tenga exactamente los elementos ordenados de los
+     * primeros n elementos del arreglo. */
+    private static void mismosElementos(IntArbolRojinegro arbol,
+                                        int[] arreglo, int n) {
+        int[] ordenado = Arrays.copyOf(arreglo, n);
+        Arrays.sort(ordenado);
+        Assert.assertTrue(arbol.getElementos() == n);
+        Assert.assertArrayEquals(ordenado, arbol.aArreglo());
+        alturaValida(arbol);
+    }
+
+    /**
+     * Crea un árbol para cada prueba.
+     */
+    public TestIntArbolRojinegro() {
+        random = new Random();
+        arbol = new IntArbolRojinegro();
+        total = 10 + random.nextInt(100);
+    }
+
+    /**
+     * Prueba unitaria para {@link IntArbolRojinegro#IntArbolRojinegro()}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(arbol.esVacia());
+        Assert.assertTrue(arbol.getElementos() == 0);
+        Assert.assertTrue(arbol.altura() == -1);
+        Assert.assertTrue(arbol.aArreglo().length == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * IntArbolRojinegro#IntArbolRojinegro(int)}.
+     */
+    @Test public void testConstructorCapacidad() {
+        arbol = new IntArbolRojinegro(0);
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt();
+            arbol.agrega(a[i]);
+        }
+        mismosElementos(arbol, a, total);
+        try {
+            new IntArbolRojinegro(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new IntArbolRojinegro(Integer.MAX_VALUE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link IntArbolRojinegro#agrega}.
+     */
+    @Test public void testAgrega() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+            mismosElementos(arbol, a, i + 1);
+        }
+        arbol = new IntArbolRojinegro();
+        for (int i = 0; i < total; i++) {
+            a[i] = i;
+            arbol.agrega(i);
+        }
+        mismosElementos(arbol, a, total);
+    }
+
+    /**
+     * Prueba unitaria para {@link IntArbolRojinegro#elimina}.
+     */
+    @Test public void testElimina() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        arbol.elimina(total);
+        arbol.elimina(-1);
+        mismosElementos(arbol, a, total);
+        int n = total;
+        while (n > 0) {
+            int i = random.nextInt(n);
+            arbol.elimina(a[i]);
+            a[i] = a[--n];
+            mismosElementos(arbol, a, n);
+        }
+        Assert.assertTrue(arbol.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link IntArbolRojinegro#contiene}.
+     */
+    @Test public void testContiene() {
+        int[] a = new int[total];
+        for (int i = 0; i < total; i++) {
+            a[i] = random.nextInt(total);
+            arbol.agrega(a[i]);
+        }
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(arbol.contiene(a[i]));
+        Assert.assertFalse(arbol.contiene(-1));
+        Assert.assertFalse(arbol.contiene(total));
+        for (int i = 0; i < total; i++)
+            arbol.elimina(a[i]);
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(arbol.contiene(a[i]));
+    }
+
+    /**
+     * Prueba unitaria para {@link IntArbolRojinegro#agrega} y {@link
+     * IntArbolRojinegro#elimina} intercalados, que reutilizan los vértices
+     * eliminados.
+     */
+    @Test public void testAgregaYElimina() {
+        int[] a = new int[total];
+        int n = 0;
+        for (int k = 0; k < 10 * total; k++) {
+            if (n == 0 || (n < total && random.nextBoolean())) {
+                a[n] = random.nextInt(total);
+                arbol.agrega(a[n++]);
+            } else {
+                int i = random.nextInt(n);
+                arbol.elimina(a[i]);
+                a[i] = a[--n];
+            }
+            mismosElementos(arbol, a, n);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link IntArbolRojinegro#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            arbol.agrega(random.nextInt());
+        arbol.limpia();
+        Assert.assertTrue(arbol.esVacia());
+        Assert.assertTrue(arbol.getElementos() == 0);
+        Assert.assertTrue(arbol.aArreglo().length == 0);
+        arbol.agrega(1);
+        Assert.assertTrue(arbol.contiene(1));
+        Assert.assertTrue(arbol.getElementos() == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link IntArbolRojinegro#toString}.
+     */
+    @Test public void testToString() {
+        Assert.assertTrue(arbol.toString().equals("[]"));
+        arbol.agrega(2);
+        arbol.agrega(0);
+        arbol.agrega(1);
+        Assert.assertTrue(arbol.toString().equals("[0, 1, 2]"));
+    }
+}
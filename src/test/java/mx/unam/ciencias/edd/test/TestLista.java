@@ -1,6 +1,11 @@
 package mx.unam.ciencias.edd.test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.Coleccion;
@@ -166,6 +171,95 @@ public class TestLista {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#agregaTodos}, sin y con índice.
+     */
+    @Test public void testAgregaTodos() {
+        List<String> otra = new ArrayList<String>();
+        otra.add("a");
+        otra.add(null);
+        try {
+            lista.agregaTodos(otra);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(lista.esVacia());
+        lista.agregaTodos(new Lista<String>());
+        Assert.assertTrue(lista.esVacia());
+        List<String> esperada = new ArrayList<String>();
+        for (int k = 0; k < 6; k++) {
+            if (k == 3)
+                lista.indexa();
+            otra.clear();
+            int n = k % 3 == 0 ? total : random.nextInt(4);
+            for (int i = 0; i < n; i++)
+                otra.add(str(random.nextInt(total)));
+            lista.agregaTodos(otra);
+            esperada.addAll(otra);
+            validaLista(lista);
+            Assert.assertTrue(lista.getLongitud() == esperada.size());
+            int i = 0;
+            for (String e : lista)
+                Assert.assertTrue(e.equals(esperada.get(i++)));
+            for (i = esperada.size() - 1; i >= 0; i--)
+                Assert.assertTrue(lista.get(i).equals(esperada.get(i)));
+        }
+        while (!esperada.isEmpty()) {
+            String e = esperada.get(random.nextInt(esperada.size()));
+            Assert.assertTrue(lista.contiene(e));
+            Assert.assertTrue(lista.indiceDe(e) == esperada.indexOf(e));
+            lista.elimina(e);
+            esperada.remove(e);
+            validaLista(lista);
+        }
+        lista.agregaTodos(lista);
+        Assert.assertTrue(lista.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#eliminaSi}, {@link
+     * Lista#eliminaTodos} y {@link Lista#retieneTodos}, sin y con índice.
+     */
+    @Test public void testEliminaSi() {
+        for (int k = 0; k < 2; k++) {
+            lista = new Lista<String>();
+            if (k == 1)
+                lista.indexa();
+            List<String> esperada = new ArrayList<String>();
+            for (int i = 0; i < 4 * total; i++) {
+                String e = str(random.nextInt(total));
+                lista.agrega(e);
+                esperada.add(e);
+            }
+            Assert.assertTrue(lista.get(total).equals(esperada.get(total)));
+            int n = esperada.size();
+            esperada.removeIf(e -> Integer.parseInt(e) % 3 == 0);
+            Assert.assertTrue(lista.eliminaSi(e -> Integer.parseInt(e) % 3
+                                              == 0) == n - esperada.size());
+            validaLista(lista);
+            Lista<String> otra = new Lista<String>();
+            for (int i = 0; i < total / 2; i++)
+                otra.agrega(str(random.nextInt(total)));
+            n = esperada.size();
+            esperada.removeIf(e -> otra.contiene(e));
+            Assert.assertTrue(lista.eliminaTodos(otra) ==
+                              n - esperada.size());
+            otra.agrega(esperada.get(0));
+            n = esperada.size();
+            esperada.removeIf(e -> !otra.contiene(e));
+            Assert.assertTrue(lista.retieneTodos(otra) ==
+                              n - esperada.size());
+            validaLista(lista);
+            Assert.assertTrue(lista.getLongitud() == esperada.size());
+            for (int i = 0; i < esperada.size(); i++) {
+                Assert.assertTrue(lista.get(i).equals(esperada.get(i)));
+                Assert.assertTrue(lista.indiceDe(esperada.get(i)) ==
+                                  esperada.indexOf(esperada.get(i)));
+            }
+            Assert.assertTrue(lista.eliminaTodos(lista) == esperada.size());
+            Assert.assertTrue(lista.esVacia());
+        }
+    }
+
     /**
      * Prueba unitaria para {@link Lista#agregaFinal}.
      */
@@ -584,6 +678,153 @@ public class TestLista {
         } catch (ExcepcionIndiceInvalido eii) {}
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#indexa}, {@link Lista#desindexa} y
+     * {@link Lista#estaIndexada}: con elementos repetidos, la lista indexada
+     * tiene que comportarse igual que una sin indexar.
+     */
+    @Test public void testIndexa() {
+        Assert.assertFalse(lista.estaIndexada());
+        for (int i = 0; i < total; i++)
+            lista.agrega(str(random.nextInt(total / 4)));
+        lista.indexa();
+        Assert.assertTrue(lista.estaIndexada());
+        java.util.List<String> esperada = new java.util.ArrayList<String>();
+        for (String e : lista)
+            esperada.add(e);
+        for (int k = 0; k < 20 * total; k++) {
+            String e = str(random.nextInt(total / 4 + 1));
+            int n = esperada.size();
+            switch (random.nextInt(8)) {
+            case 0:
+                lista.agrega(e);
+                esperada.add(e);
+                break;
+            case 1:
+                lista.agregaInicio(e);
+                esperada.add(0, e);
+                break;
+            case 2:
+                int i = n == 0 ? 0 : random.nextInt(n);
+                lista.inserta(i, e);
+                esperada.add(i, e);
+                break;
+            case 3:
+                lista.elimina(e);
+                esperada.remove(e);
+                break;
+            case 4:
+                if (n > 0)
+                    Assert.assertTrue(lista.eliminaPrimero()
+                                      .equals(esperada.remove(0)));
+                break;
+            case 5:
+                if (n > 0)
+                    Assert.assertTrue(lista.eliminaUltimo()
+                                      .equals(esperada.remove(n - 1)));
+                break;
+            case 6:
+                if (random.nextInt(10) == 0) {
+                    Lista.ordena(lista);
+                    java.util.Collections.sort(esperada);
+                }
+                break;
+            default:
+                if (random.nextInt(20) == 0) {
+                    lista.limpia();
+                    esperada.clear();
+                    Assert.assertTrue(lista.estaIndexada());
+                }
+            }
+            Assert.assertTrue(lista.contiene(e) == esperada.contains(e));
+            Assert.assertTrue(lista.indiceDe(e) == esperada.indexOf(e));
+            Assert.assertTrue(lista.getLongitud() == esperada.size());
+            int j = 0;
+            for (String f : lista)
+                Assert.assertTrue(f.equals(esperada.get(j++)));
+            validaLista(lista);
+        }
+        lista.desindexa();
+        Assert.assertFalse(lista.estaIndexada());
+        for (String e : esperada)
+            Assert.assertTrue(lista.contiene(e));
+
+        /* Con el índice, buscar y eliminar todos los elementos de una lista
+         * grande es lineal. */
+        Lista<Integer> l = new Lista<Integer>();
+        l.indexa();
+        int n = 200000;
+        for (int i = 0; i < n; i++)
+            l.agrega(i);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(l.contiene(i));
+        Assert.assertFalse(l.contiene(n));
+        for (int i = n - 1; i >= 0; i -= 2)
+            l.elimina(i);
+        Assert.assertTrue(l.getLongitud() == n / 2);
+        Assert.assertTrue(l.get(n / 4) == n / 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#get} e {@link Lista#inserta}
+     * intercalados con otras modificaciones, que deben mantener correcto el
+     * último nodo recordado.
+     */
+    @Test public void testGetEInsertaConModificaciones() {
+        Lista<Integer> l = new Lista<Integer>();
+        java.util.List<Integer> esperada = new java.util.ArrayList<Integer>();
+        for (int k = 0; k < 20 * total; k++) {
+            int n = esperada.size();
+            int i = n == 0 ? 0 : random.nextInt(n);
+            switch (random.nextInt(7)) {
+            case 0:
+                l.inserta(i, k);
+                esperada.add(i, k);
+                break;
+            case 1:
+                l.agregaInicio(k);
+                esperada.add(0, k);
+                break;
+            case 2:
+                l.agrega(k);
+                esperada.add(k);
+                break;
+            case 3:
+                if (n > 0) {
+                    Integer e = esperada.get(i);
+                    l.elimina(e);
+                    esperada.remove(e);
+                }
+                break;
+            case 4:
+                if (n > 0)
+                    Assert.assertTrue(l.eliminaPrimero()
+                                      .equals(esperada.remove(0)));
+                break;
+            case 5:
+                if (n > 0)
+                    Assert.assertTrue(l.eliminaUltimo()
+                                      .equals(esperada.remove(n - 1)));
+                break;
+            default:
+                if (n > 0)
+                    Assert.assertTrue(l.get(i).equals(esperada.get(i)));
+            }
+            Assert.assertTrue(l.getLongitud() == esperada.size());
+            for (int j = 0; j < esperada.size(); j++)
+                Assert.assertTrue(l.get(j).equals(esperada.get(j)));
+            for (int j = esperada.size() - 1; j >= 0; j--)
+                Assert.assertTrue(l.get(j).equals(esperada.get(j)));
+        }
+        /* Un recorrido secuencial de una lista grande es lineal. */
+        l.limpia();
+        int n = 200000;
+        for (int i = 0; i < n; i++)
+            l.inserta(i, i);
+        for (int i = 0; i < n; i++)
+            Assert.assertTrue(l.get(i) == i);
+    }
+
     /**
      * Prueba unitaria para {@link Lista#indiceDe}.
      */
@@ -618,6 +859,31 @@ public class TestLista {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#escribe}.
+     * @throws IOException si la salida lanza la excepción.
+     */
+    @Test public void testEscribe() throws IOException {
+        StringWriter salida = new StringWriter();
+        lista.escribe(salida);
+        Assert.assertTrue(salida.toString().equals("[]"));
+        for (int i = 0; i < total; i++) {
+            lista.agrega(str(random.nextInt(total)));
+            salida = new StringWriter();
+            lista.escribe(salida);
+            Assert.assertTrue(salida.toString().equals(lista.toString()));
+        }
+        /* Una lista grande se escribe en tiempo lineal. */
+        Lista<Integer> l = new Lista<Integer>();
+        int n = 200000;
+        for (int i = 0; i < n; i++)
+            l.agrega(i % 10);
+        String cadena = l.toString();
+        Assert.assertTrue(cadena.length() == 3 * n);
+        Assert.assertTrue(cadena.startsWith("[0, 1, 2, "));
+        Assert.assertTrue(cadena.endsWith("8, 9]"));
+    }
+
     /**
      * Prueba unitaria para {@link Lista#equals}.
      */
@@ -835,6 +1101,72 @@ public class TestLista {
         }
     }
 
+    /**
+     * Prueba unitaria para {@link Lista#ordena(Comparator)}.
+     */
+    @Test public void testOrdena() {
+        lista.ordena((a, b) -> a.compareTo(b));
+        Assert.assertTrue(lista.esVacia());
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(str(random.nextInt(total)));
+        Lista<String> copia = lista.copia();
+        lista.ordena((a, b) -> a.compareTo(b));
+        Assert.assertTrue(lista.getLongitud() == copia.getLongitud());
+        for (String e : copia)
+            Assert.assertTrue(lista.contiene(e));
+        String a = lista.getPrimero();
+        for (String e : lista) {
+            Assert.assertTrue(a.compareTo(e) <= 0);
+            a = e;
+        }
+        validaLista(lista);
+        Assert.assertTrue(lista.equals(Lista.mergeSort(copia)));
+        lista.agregaFinal(" ");
+        lista.agregaInicio("z");
+        validaLista(lista);
+        Assert.assertTrue(lista.getPrimero().equals("z"));
+        Assert.assertTrue(lista.getUltimo().equals(" "));
+        /* Prueba estabilidad. */
+        total = 100 + total * 10;
+        int m = 7 + random.nextInt(20);
+        Lista<Par> pares = new Lista<Par>();
+        for (int i = 0; i < total; i++) {
+            int v = ((i % m) == 0) ? m : random.nextInt(total);
+            pares.agrega(new Par(v, i));
+        }
+        pares.ordena((x, y) -> x.compareTo(y));
+        Par u = null;
+        for (Par par : pares) {
+            if (u != null) {
+                Assert.assertTrue(u.getValor() <= par.getValor());
+                if (u.getValor() == par.getValor())
+                    Assert.assertTrue(u.getEtiqueta() < par.getEtiqueta());
+            }
+            u = par;
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Lista#ordena(Lista)}.
+     */
+    @Test public void testOrdenaLista() {
+        for (int i = 0; i < total; i++)
+            lista.agregaFinal(str(random.nextInt(total)));
+        Lista<String> ordenada = Lista.mergeSort(lista);
+        Lista.ordena(lista);
+        Assert.assertTrue(lista.equals(ordenada));
+        validaLista(lista);
+        Lista<Integer> grande = new Lista<Integer>();
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            grande.agrega(n - i);
+        Lista.ordena(grande);
+        int e = 1;
+        for (Integer x : grande)
+            Assert.assertTrue(x == e++);
+        Assert.assertTrue(Lista.mergeSort(new Lista<Integer>()).esVacia());
+    }
+
     /**
      * Prueba unitaria para {@link Lista#busquedaLineal}.
      */
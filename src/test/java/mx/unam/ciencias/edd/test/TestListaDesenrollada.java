@@ -0,0 +1,352 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+import mx.unam.ciencias.edd.IteradorLista;
+import mx.unam.ciencias.edd.ListaDesenrollada;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaDesenrollada}.
+ */
+public class TestListaDesenrollada {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La lista, con nodos pequeños para que se partan y fundan seguido. */
+    private ListaDesenrollada<String> lista;
+
+    /* Valida que la lista tenga los elementos de la lista esperada, en orden,
+     * recorriéndola de todas las maneras posibles. */
+    private void validaLista(ListaDesenrollada<String> lista,
+                             List<String> esperada) {
+        int longitud = esperada.size();
+        Assert.assertTrue(lista.getLongitud() == longitud);
+        Assert.assertTrue(lista.getElementos() == longitud);
+        Assert.assertTrue(lista.esVacia() == (longitud == 0));
+        int c = 0;
+        for (String e : lista)
+            Assert.assertTrue(e.equals(esperada.get(c++)));
+        Assert.assertTrue(c == longitud);
+        IteradorLista<String> i = lista.iteradorLista();
+        i.end();
+        while (i.hasPrevious())
+            Assert.assertTrue(i.previous().equals(esperada.get(--c)));
+        Assert.assertTrue(c == 0);
+        for (int j = 0; j < longitud; j++)
+            Assert.assertTrue(lista.get(j).equals(esperada.get(j)));
+        Assert.assertTrue(lista.toString().equals(esperada.toString()));
+    }
+
+    /* Convierte un entero en cadena. */
+    private String str(int n) {
+        return String.valueOf(n);
+    }
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba, un número total
+     * de elementos para nuestra lista, y una lista.
+     */
+    public TestListaDesenrollada() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        lista = new ListaDesenrollada<String>(4);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#ListaDesenrollada}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(new ListaDesenrollada<String>().esVacia());
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertTrue(lista.getLongitud() == 0);
+        try {
+            new ListaDesenrollada<String>(1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#agrega}, {@link
+     * ListaDesenrollada#agregaFinal} y {@link
+     * ListaDesenrollada#agregaInicio}.
+     */
+    @Test public void testAgrega() {
+        try {
+            lista.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            lista.agregaInicio(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        List<String> esperada = new ArrayList<String>();
+        for (int i = 0; i < total; i++) {
+            String e = str(i);
+            switch (random.nextInt(3)) {
+            case 0:
+                lista.agrega(e);
+                esperada.add(e);
+                break;
+            case 1:
+                lista.agregaFinal(e);
+                esperada.add(e);
+                break;
+            default:
+                lista.agregaInicio(e);
+                esperada.add(0, e);
+            }
+            validaLista(lista, esperada);
+            Assert.assertTrue(lista.getPrimero().equals(esperada.get(0)));
+            Assert.assertTrue(lista.getUltimo().equals(esperada.get(i)));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#inserta}.
+     */
+    @Test public void testInserta() {
+        try {
+            lista.inserta(0, null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        List<String> esperada = new ArrayList<String>();
+        for (int i = 0; i < total; i++) {
+            int j = random.nextInt(esperada.size() + 3) - 1;
+            String e = str(i);
+            lista.inserta(j, e);
+            esperada.add(Math.max(0, Math.min(j, esperada.size())), e);
+            validaLista(lista, esperada);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#elimina}, {@link
+     * ListaDesenrollada#eliminaPrimero} y {@link
+     * ListaDesenrollada#eliminaUltimo}.
+     */
+    @Test public void testElimina() {
+        try {
+            lista.eliminaPrimero();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            lista.eliminaUltimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        List<String> esperada = new ArrayList<String>();
+        for (int i = 0; i < total; i++) {
+            String e = str(random.nextInt(total));
+            lista.agrega(e);
+            esperada.add(e);
+        }
+        lista.elimina("no está");
+        validaLista(lista, esperada);
+        while (!esperada.isEmpty()) {
+            switch (random.nextInt(3)) {
+            case 0:
+                String e = esperada.get(random.nextInt(esperada.size()));
+                lista.elimina(e);
+                esperada.remove(e);
+                break;
+            case 1:
+                Assert.assertTrue(lista.eliminaPrimero()
+                                  .equals(esperada.remove(0)));
+                break;
+            default:
+                Assert.assertTrue(lista.eliminaUltimo()
+                                  .equals(esperada.remove(esperada.size()
+                                                          - 1)));
+            }
+            validaLista(lista, esperada);
+        }
+        lista.agrega("1");
+        esperada.add("1");
+        validaLista(lista, esperada);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#eliminaSi}: los elementos
+     * que sobreviven conservan su orden, y si la condición lanza una
+     * excepción la lista no cambia.
+     */
+    @Test public void testEliminaSi() {
+        List<String> esperada = new ArrayList<String>();
+        for (int i = 0; i < total; i++) {
+            String e = str(random.nextInt(total));
+            lista.agrega(e);
+            esperada.add(e);
+        }
+        try {
+            lista.eliminaSi(e -> {
+                    if (e.equals(esperada.get(esperada.size() - 1)))
+                        throw new IllegalStateException();
+                    return true;
+                });
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        validaLista(lista, esperada);
+        Assert.assertTrue(lista.eliminaSi(e -> false) == 0);
+        for (int m = 7; m > 0; m -= 3) {
+            int d = m;
+            int n = esperada.size();
+            esperada.removeIf(e -> Integer.parseInt(e) % d == 0);
+            Assert.assertTrue(lista.eliminaSi(e -> Integer.parseInt(e) % d
+                                              == 0) == n - esperada.size());
+            validaLista(lista, esperada);
+            lista.agrega("0");
+            esperada.add("0");
+            validaLista(lista, esperada);
+        }
+        Assert.assertTrue(lista.eliminaSi(e -> true) == esperada.size());
+        Assert.assertTrue(lista.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#contiene} y {@link
+     * ListaDesenrollada#indiceDe}.
+     */
+    @Test public void testContieneEIndiceDe() {
+        Assert.assertFalse(lista.contiene("0"));
+        Assert.assertTrue(lista.indiceDe("0") == -1);
+        for (int i = 0; i < total; i++)
+            lista.agrega(str(i));
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(lista.contiene(str(i)));
+            Assert.assertTrue(lista.indiceDe(str(i)) == i);
+        }
+        Assert.assertFalse(lista.contiene(str(total)));
+        Assert.assertTrue(lista.indiceDe(str(total)) == -1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#get}.
+     */
+    @Test public void testGet() {
+        try {
+            lista.get(0);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        for (int i = 0; i < total; i++)
+            lista.agregaInicio(str(i));
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(lista.get(i).equals(str(total - 1 - i)));
+        try {
+            lista.get(-1);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+        try {
+            lista.get(total);
+            Assert.fail();
+        } catch (ExcepcionIndiceInvalido eii) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#reversa}, {@link
+     * ListaDesenrollada#copia}, {@link ListaDesenrollada#limpia}, {@link
+     * ListaDesenrollada#equals} y {@link ListaDesenrollada#hashCode}.
+     */
+    @Test public void testReversaCopiaLimpiaEquals() {
+        List<String> esperada = new ArrayList<String>();
+        for (int i = 0; i < total; i++) {
+            lista.agrega(str(i));
+            esperada.add(str(i));
+        }
+        ListaDesenrollada<String> copia = lista.copia();
+        validaLista(copia, esperada);
+        Assert.assertTrue(lista.equals(copia));
+        Assert.assertTrue(lista.hashCode() == copia.hashCode());
+        ListaDesenrollada<String> otra = new ListaDesenrollada<String>(2);
+        for (String e : esperada)
+            otra.agrega(e);
+        Assert.assertTrue(lista.equals(otra));
+        Assert.assertTrue(lista.hashCode() == otra.hashCode());
+        otra.eliminaUltimo();
+        Assert.assertFalse(lista.equals(otra));
+        Assert.assertFalse(lista.equals(null));
+        Assert.assertFalse(lista.equals(esperada));
+        ListaDesenrollada<String> reversa = lista.reversa();
+        java.util.Collections.reverse(esperada);
+        validaLista(reversa, esperada);
+        lista.limpia();
+        validaLista(lista, new ArrayList<String>());
+        Assert.assertFalse(copia.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#iteradorLista}.
+     */
+    @Test public void testIteradorLista() {
+        IteradorLista<String> i = lista.iteradorLista();
+        Assert.assertFalse(i.hasNext());
+        Assert.assertFalse(i.hasPrevious());
+        try {
+            i.next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            i.previous();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        for (int j = 0; j < total; j++)
+            lista.agrega(str(j));
+        i = lista.iteradorLista();
+        int j = 0;
+        for (int k = 0; k < 10 * total; k++) {
+            if (random.nextBoolean() && i.hasNext())
+                Assert.assertTrue(i.next().equals(str(j++)));
+            else if (i.hasPrevious())
+                Assert.assertTrue(i.previous().equals(str(--j)));
+            Assert.assertTrue(i.hasNext() == (j < total));
+            Assert.assertTrue(i.hasPrevious() == (j > 0));
+        }
+        i.start();
+        Assert.assertTrue(i.next().equals("0"));
+        i.end();
+        Assert.assertTrue(i.previous().equals(str(total - 1)));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaDesenrollada#ordena(Comparator)} y
+     * {@link ListaDesenrollada#mergeSort(Comparator)}; el ordenamiento tiene
+     * que ser estable.
+     */
+    @Test public void testOrdena() {
+        ListaDesenrollada<Integer> l = new ListaDesenrollada<Integer>(4);
+        List<Integer> esperada = new ArrayList<Integer>();
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt(total) * total + i;
+            l.agrega(e);
+            esperada.add(e);
+        }
+        /* Compara nada más el valor, no la etiqueta en los dígitos bajos. */
+        Comparator<Integer> c = (a, b) -> a / total - b / total;
+        ListaDesenrollada<Integer> ordenada = l.mergeSort(c);
+        esperada.sort(c);
+        Iterator<Integer> it = ordenada.iterator();
+        for (Integer e : esperada)
+            Assert.assertTrue(it.next().equals(e));
+        Assert.assertFalse(it.hasNext());
+        l.ordena(c);
+        Assert.assertTrue(l.equals(ordenada));
+        ListaDesenrollada.ordena(l);
+        esperada.sort(null);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(l.get(i).equals(esperada.get(i)));
+        Assert.assertTrue(ListaDesenrollada.busquedaLineal(l, esperada.get(0)));
+        Assert.assertFalse(ListaDesenrollada.busquedaLineal(l, -1));
+    }
+}
@@ -46,4 +46,28 @@ public class UtilTestArbolBinario {
         Assert.assertFalse(v.hayPadre());
         arbolBinarioValido(v);
     }
+
+    /* Calcula recursivamente la altura de un vértice, y comprueba que sea la
+     * que el vértice reporta. */
+    private static int alturaValida(VerticeArbolBinario<?> v) {
+        int i = v.hayIzquierdo() ? alturaValida(v.izquierdo()) : -1;
+        int d = v.hayDerecho() ? alturaValida(v.derecho()) : -1;
+        int a = 1 + Math.max(i, d);
+        Assert.assertTrue(v.altura() == a);
+        return a;
+    }
+
+    /**
+     * Valida las alturas de un árbol binario. Para todos sus vértices
+     * comprueba que la altura que reporta el vértice sea la altura real de su
+     * subárbol.
+     * @param arbol el árbol a validar.
+     */
+    public static void alturasValidas(ArbolBinario<?> arbol) {
+        if (arbol.esVacia()) {
+            Assert.assertTrue(arbol.altura() == -1);
+            return;
+        }
+        Assert.assertTrue(arbol.altura() == alturaValida(arbol.raiz()));
+    }
 }